@@ -0,0 +1,36 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.api.annotation;
+
+/**
+ * Available transaction boundaries used for controlling how many tests share a single transaction.
+ */
+public enum TransactionBoundary {
+    /**
+     * Every test is executed in its own transaction.<br/>
+     * <b>Default behavior.</b>
+     */
+    TEST,
+    /**
+     * Single transaction is started before the first test of the test class and ended after the last one.
+     * The transaction is rolled back if any of the tests has failed.<br/>
+     * The class events are replayed in the container for every test, so only the tests executed on the client side
+     * share the transaction. Tests executed in the container behave as with the {@link #TEST} boundary.
+     */
+    CLASS
+}
@@ -33,6 +33,21 @@ public enum TransactionMode {
      * <b>Default behavior.</b>
      */
     COMMIT,
+    /**
+     * Runs every test inside a savepoint of a single outer transaction shared by the test class, and rolls
+     * back to that savepoint after the test. The outer transaction is rolled back once the test class has
+     * been executed, so data inserted in {@code @BeforeClass} methods is visible to all the tests but
+     * has to be inserted only once.<br/>
+     * Falls back to {@link #ROLLBACK} if the transaction provider does not support savepoints.<br/>
+     * The class events are replayed in the container for every test, so the outer transaction is shared only by
+     * tests executed on the client side. Tests executed in the container behave as in {@link #ROLLBACK} mode.
+     */
+    SAVEPOINT,
+    /**
+     * Rollback transaction after every test, hinting the transaction provider that the test does not modify
+     * any data, so it might skip flushing and tracking of the changes.
+     */
+    READ_ONLY,
     /**
      * Instructs extension to not use transactions for tests execution.
      */
@@ -35,8 +35,11 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * <ul>
  * <li>{@link TransactionMode#COMMIT} which is the default mode</li>
  * <li>{@link TransactionMode#ROLLBACK}</li>
+ * <li>{@link TransactionMode#SAVEPOINT}</li>
+ * <li>{@link TransactionMode#READ_ONLY}</li>
  * <li>{@link TransactionMode#DISABLED}</li>
  * </ul>
+ * The transaction boundary might be widened to the whole test class through {@link #scope()}.
  *
  * @author <a href="mailto:bartosz.majsak@gmail.com">Bartosz Majsak</a>
  */
@@ -49,7 +52,21 @@ public @interface Transactional {
 
     /**
      * The optional name of the manager to be used for handling transaction for
-     * given test case or method.
+     * given test case or method. A comma separated list of names defines a pool,
+     * each concurrently running transaction then uses a distinct manager of it.
      */
     String manager() default "";
+
+    /**
+     * The boundary of the transaction, taken into account only if defined on the class level. Test methods
+     * overriding the class level settings are executed in their own transactions.
+     */
+    TransactionBoundary scope() default TransactionBoundary.TEST;
+
+    /**
+     * The optional transaction timeout in seconds. If it hasn't been set, the method level timeout falls back
+     * to the class level one and then to the extension configuration. The transaction of a test exceeding
+     * its timeout is rolled back.
+     */
+    int timeout() default 0;
 }
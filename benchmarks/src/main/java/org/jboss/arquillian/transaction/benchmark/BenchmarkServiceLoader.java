@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.benchmark;
+
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * {@link ServiceLoader} serving a single {@link TransactionProvider} and no other services, so the measured
+ * life cycle is not affected by class path scanning.
+ */
+class BenchmarkServiceLoader implements ServiceLoader {
+
+    private final TransactionProvider transactionProvider;
+
+    BenchmarkServiceLoader(TransactionProvider transactionProvider) {
+        this.transactionProvider = transactionProvider;
+    }
+
+    @Override
+    public <T> Collection<T> all(Class<T> serviceClass) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public <T> T onlyOne(Class<T> serviceClass) {
+        if (TransactionProvider.class.equals(serviceClass)) {
+            return serviceClass.cast(transactionProvider);
+        }
+        return null;
+    }
+
+    @Override
+    public <T> T onlyOne(Class<T> serviceClass, Class<? extends T> defaultServiceClass) {
+        return onlyOne(serviceClass);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.benchmark;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.Manager;
+import org.jboss.arquillian.core.spi.ManagerBuilder;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.impl.TestContextHandler;
+import org.jboss.arquillian.test.impl.context.ClassContextImpl;
+import org.jboss.arquillian.test.impl.context.SuiteContextImpl;
+import org.jboss.arquillian.test.impl.context.TestContextImpl;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionEnablerRegistryProducer;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionHandler;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionProviderProducer;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+
+import java.lang.reflect.Method;
+
+/**
+ * Arquillian {@link Manager} wired with the transaction extension observers only, used for driving
+ * the transaction life cycle of a single test class outside of any container.
+ */
+class TransactionLifecycle {
+
+    private final Manager manager;
+
+    private final Class<?> testClass;
+
+    TransactionLifecycle(Class<? extends TransactionHandler> transactionHandlerClass,
+        TransactionProvider transactionProvider, Class<?> testClass) {
+        this.testClass = testClass;
+        this.manager = ManagerBuilder.from()
+            .context(SuiteContextImpl.class)
+            .context(ClassContextImpl.class)
+            .context(TestContextImpl.class)
+            .context(TransactionContextImpl.class)
+            .extensions(TestContextHandler.class, TransactionProviderProducer.class,
+                TransactionEnablerRegistryProducer.class, transactionHandlerClass)
+            .create();
+        manager.start();
+
+        manager.bind(ApplicationScoped.class, ServiceLoader.class, new BenchmarkServiceLoader(transactionProvider));
+        manager.bind(ApplicationScoped.class, TransactionConfiguration.class, new TransactionConfiguration());
+        manager.bind(ApplicationScoped.class, TransactionContext.class,
+            manager.getContext(TransactionContextImpl.class));
+        manager.inject(transactionProvider);
+    }
+
+    void start() {
+        manager.fire(new BeforeSuite());
+        manager.fire(new BeforeClass(testClass));
+    }
+
+    void executeTest(Object testInstance, Method testMethod) {
+        manager.fire(new Before(testInstance, testMethod));
+        manager.fire(new After(testInstance, testMethod));
+    }
+
+    void stop() {
+        manager.fire(new AfterClass(testClass));
+        manager.fire(new AfterSuite());
+        manager.shutdown();
+    }
+}
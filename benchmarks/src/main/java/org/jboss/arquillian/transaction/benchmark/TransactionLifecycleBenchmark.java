@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.benchmark;
+
+import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler;
+import org.jboss.arquillian.transaction.impl.container.InContainerTransactionHandler;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionHandler;
+import org.jboss.arquillian.transaction.inmemory.provider.InMemoryTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead the transaction extension adds to every test, from firing {@code Before} to
+ * completing {@code After}, for both of the transaction handlers.
+ * <br />
+ * The allocation rate is reported when running with the GC profiler:
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar TransactionLifecycleBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionLifecycleBenchmark {
+
+    @Param({"client", "container"})
+    public String handler;
+
+    @Param({"mock", "inMemory"})
+    public String provider;
+
+    private TransactionLifecycle lifecycle;
+
+    private Object testInstance;
+
+    private Method classLevelTest;
+
+    private Method methodLevelTest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        testInstance = new BenchmarkTest();
+        classLevelTest = BenchmarkTest.class.getMethod("classLevelTest");
+        methodLevelTest = BenchmarkTest.class.getMethod("methodLevelTest");
+
+        lifecycle = new TransactionLifecycle(getTransactionHandlerClass(), createTransactionProvider(),
+            BenchmarkTest.class);
+        lifecycle.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        lifecycle.stop();
+    }
+
+    @Benchmark
+    public void classLevelTransaction() {
+        lifecycle.executeTest(testInstance, classLevelTest);
+    }
+
+    @Benchmark
+    public void methodLevelTransaction() {
+        lifecycle.executeTest(testInstance, methodLevelTest);
+    }
+
+    private Class<? extends TransactionHandler> getTransactionHandlerClass() {
+        return "client".equals(handler) ? ClientSideTransactionHandler.class : InContainerTransactionHandler.class;
+    }
+
+    private TransactionProvider createTransactionProvider() {
+        if ("mock".equals(provider)) {
+            // invocations are not recorded, otherwise the mock would retain every benchmark iteration
+            return Mockito.mock(TransactionProvider.class, Mockito.withSettings().stubOnly());
+        }
+        return new InMemoryTransactionProvider();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.benchmark;
+
+import org.jboss.arquillian.test.spi.event.suite.TestEvent;
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.impl.lifecycle.AnnotationBasedTransactionEnabler;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionEnablerLoader;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionMetadata;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionMetadataCache;
+import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of resolving the transaction settings of a test, compared with serving them from
+ * {@link TransactionMetadataCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionMetadataBenchmark {
+
+    private final AnnotationBasedTransactionEnabler transactionEnabler = new AnnotationBasedTransactionEnabler();
+
+    private final TransactionMetadataCache metadataCache = new TransactionMetadataCache();
+
+    private BenchmarkServiceLoader serviceLoader;
+
+    private TestEvent classLevelEvent;
+
+    private TestEvent methodLevelEvent;
+
+    private Method classLevelTest;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Object testInstance = new BenchmarkTest();
+        classLevelTest = BenchmarkTest.class.getMethod("classLevelTest");
+        classLevelEvent = new TestEvent(testInstance, classLevelTest);
+        methodLevelEvent = new TestEvent(testInstance, BenchmarkTest.class.getMethod("methodLevelTest"));
+
+        serviceLoader = new BenchmarkServiceLoader(null);
+        metadataCache.put(BenchmarkTest.class, classLevelTest,
+            new TransactionMetadata(TransactionMode.ROLLBACK, null, transactionEnabler,
+                TransactionBoundary.TEST, 0));
+    }
+
+    @Benchmark
+    public TransactionMode classLevelAnnotation() {
+        return resolveTransactionMode(classLevelEvent);
+    }
+
+    @Benchmark
+    public TransactionMode methodLevelAnnotation() {
+        return resolveTransactionMode(methodLevelEvent);
+    }
+
+    @Benchmark
+    public List<TransactionEnabler> enablerLoading() {
+        return new TransactionEnablerLoader(serviceLoader).getTransactionEnablers();
+    }
+
+    @Benchmark
+    public TransactionMetadata cachedMetadata() {
+        return metadataCache.get(BenchmarkTest.class, classLevelTest);
+    }
+
+    private TransactionMode resolveTransactionMode(TestEvent testEvent) {
+        if (transactionEnabler.isTransactionHandlingDefinedOnMethodLevel(testEvent)) {
+            return transactionEnabler.getTransactionModeFromMethodLevel(testEvent);
+        }
+        if (transactionEnabler.isTransactionHandlingDefinedOnClassLevel(testEvent)) {
+            return transactionEnabler.getTransactionModeFromClassLevel(testEvent);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.container.test.spi.client.deployment.AuxiliaryArchiveAppender;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionEnablerRegistry;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Base of the auxiliary archive appenders, which builds the archive by scanning the class path only once per JVM.
+ * <br />
+ * The built archive serves as a template, which is copied for every deployment, so the deployments don't share
+ * a mutable archive. Content depending on the current configuration is added to the copy by
+ * {@link #completeArchive(JavaArchive)}.
+ * <br />
+ * No archive is appended to the deployment of a test class, which doesn't run any transaction in the container.
+ */
+public abstract class CachingAuxiliaryArchiveAppender implements AuxiliaryArchiveAppender {
+
+    private static final ConcurrentMap<Class<?>, JavaArchive> TEMPLATES =
+        new ConcurrentHashMap<Class<?>, JavaArchive>();
+
+    @Inject
+    private Instance<TestClass> testClassInstance;
+
+    @Inject
+    private Instance<TransactionEnablerRegistry> transactionEnablerRegistryInstance;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Archive<?> createAuxiliaryArchive() {
+
+        if (!InContainerTransactionDetector.isInContainerTransactionPossible(testClassInstance.get(),
+            transactionEnablerRegistryInstance.get())) {
+            return null;
+        }
+
+        final JavaArchive template = getTemplate();
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, template.getName()).merge(template);
+
+        completeArchive(archive);
+
+        return archive;
+    }
+
+    /**
+     * Builds the archive template, invoked once per JVM.
+     *
+     * @return the archive with the content not depending on the configuration
+     */
+    protected abstract JavaArchive createArchive();
+
+    /**
+     * Adds the content depending on the current configuration to the copy of the template.
+     *
+     * @param archive
+     *     the archive to complete
+     */
+    protected void completeArchive(JavaArchive archive) {
+        // no content by default
+    }
+
+    /**
+     * Retrieves the archive template, which is built on the first call.
+     *
+     * @return the shared template, which must not be modified
+     */
+    protected final JavaArchive getTemplate() {
+        JavaArchive template = TEMPLATES.get(getClass());
+        if (template == null) {
+            final JavaArchive created = createArchive();
+            template = TEMPLATES.putIfAbsent(getClass(), created);
+            if (template == null) {
+                template = created;
+            }
+        }
+        return template;
+    }
+}
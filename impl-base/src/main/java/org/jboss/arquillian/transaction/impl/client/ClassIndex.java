@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.shrinkwrap.api.asset.ClassLoaderAsset;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the classes listed in the class index of a module to the auxiliary archive.
+ * <br />
+ * The index is generated at build time into {@code META-INF/arquillian-transaction/<artifactId>.index} and lists
+ * the class files needed in the container, so the class path does not have to be scanned and the client only
+ * classes are not bundled.
+ */
+public final class ClassIndex {
+
+    private static final String INDEX_LOCATION = "META-INF/arquillian-transaction/";
+
+    private ClassIndex() {
+        // no instances
+    }
+
+    /**
+     * Adds the indexed classes of the module to the archive.
+     *
+     * @param archive
+     *     the archive
+     * @param artifactId
+     *     the artifact id of the module
+     *
+     * @return true if the classes have been added, false if the module has no index, for instance when
+     *     the classes have not been built by Maven
+     */
+    public static boolean addIndexedClasses(JavaArchive archive, String artifactId) {
+
+        final ClassLoader classLoader = ClassIndex.class.getClassLoader();
+        final URL index = classLoader.getResource(INDEX_LOCATION + artifactId + ".index");
+        if (index == null) {
+            return false;
+        }
+
+        for (String resourceName : readIndex(index)) {
+            archive.add(new ClassLoaderAsset(resourceName, classLoader), resourceName);
+        }
+        return true;
+    }
+
+    private static List<String> readIndex(URL index) {
+        final List<String> resourceNames = new ArrayList<String>();
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(index.openStream(), "UTF-8"));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.length() > 0) {
+                    resourceNames.add(line);
+                }
+            }
+            return resourceNames;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the class index " + index + ".", e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    private static void close(BufferedReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to close the class index.", e);
+            }
+        }
+    }
+}
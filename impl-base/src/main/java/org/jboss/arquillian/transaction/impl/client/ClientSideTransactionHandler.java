@@ -18,13 +18,19 @@
 package org.jboss.arquillian.transaction.impl.client;
 
 import org.jboss.arquillian.container.spi.Container;
+import org.jboss.arquillian.container.spi.ContainerRegistry;
 import org.jboss.arquillian.container.spi.client.deployment.Deployment;
+import org.jboss.arquillian.container.spi.client.deployment.DeploymentScenario;
 import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.spi.ServiceLoader;
 import org.jboss.arquillian.core.spi.context.ApplicationContext;
+import org.jboss.arquillian.test.spi.event.suite.ClassEvent;
 import org.jboss.arquillian.test.spi.event.suite.TestEvent;
 import org.jboss.arquillian.transaction.impl.lifecycle.ModeChecker;
+import org.jboss.arquillian.transaction.impl.lifecycle.ResolvedTransactionProvider;
 import org.jboss.arquillian.transaction.impl.lifecycle.TransactionHandler;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
 
@@ -36,21 +42,66 @@ public class ClientSideTransactionHandler extends TransactionHandler {
     @Inject
     private Instance<Container> containerInstance;
 
+    @Inject
+    private Instance<DeploymentScenario> deploymentScenarioInstance;
+
+    @Inject
+    private Instance<ContainerRegistry> containerRegistryInstance;
+
     @Inject
     private Instance<ApplicationContext> applicationContextInstance;
 
     @Inject
     private Instance<ServiceLoader> serviceLoaderInstance;
 
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ResolvedTransactionProvider> resolvedTransactionProviderProducer;
+
     @Override
     public boolean isTransactionSupported(TestEvent testEvent) {
 
-        final TransactionProvider transactionProvider =
-                serviceLoaderInstance.get().onlyOne(TransactionProvider.class);
-        if (transactionProvider == null) {
+        if (getTransactionProvider() == null) {
             return false;
         }
 
         return new ModeChecker(deploymentInstance.get(), containerInstance.get()).isClientMode(testEvent);
     }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * The class level transaction is handled on the client side only if none of the class deployments
+     * executes the tests in the container.
+     */
+    @Override
+    public boolean isClassTransactionSupported(ClassEvent classEvent) {
+
+        if (getTransactionProvider() == null) {
+            return false;
+        }
+
+        final DeploymentScenario deploymentScenario = deploymentScenarioInstance.get();
+        if (deploymentScenario == null) {
+            return true;
+        }
+
+        final Class<?> testClass = classEvent.getTestClass().getJavaClass();
+        final ContainerRegistry containerRegistry = containerRegistryInstance.get();
+        for (Deployment deployment : deploymentScenario.deployments()) {
+            final Container container = containerRegistry != null
+                ? containerRegistry.getContainer(deployment.getDescription().getTarget()) : null;
+
+            if (!new ModeChecker(deployment, container).isClientMode(testClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TransactionProvider getTransactionProvider() {
+        return ResolvedTransactionProvider
+            .getOrResolve(resolvedTransactionProviderProducer, serviceLoaderInstance.get())
+            .getTransactionProvider();
+    }
 }
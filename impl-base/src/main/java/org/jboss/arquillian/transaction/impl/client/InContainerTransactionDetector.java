@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionEnablerRegistry;
+
+import java.lang.reflect.Method;
+
+/**
+ * Decides whether the deployment of the test class needs the in-container part of the extension.
+ * <br />
+ * The custom {@link org.jboss.arquillian.transaction.spi.provider.TransactionEnabler}s are able to decide only
+ * for the executed test, so the extension is always deployed when any of them is registered.
+ */
+final class InContainerTransactionDetector {
+
+    private InContainerTransactionDetector() {
+        // no instances
+    }
+
+    /**
+     * Checks whether any test of the test class can run a transaction in the container.
+     *
+     * @param testClass
+     *     the test class, might be null if it is not known
+     * @param transactionEnablerRegistry
+     *     the registered enablers, might be null if they are not known
+     *
+     * @return false only if the test class surely doesn't run any transaction in the container
+     */
+    static boolean isInContainerTransactionPossible(TestClass testClass,
+        TransactionEnablerRegistry transactionEnablerRegistry) {
+
+        if (testClass == null || transactionEnablerRegistry == null
+            || transactionEnablerRegistry.getTransactionEnablers().size() > 1) {
+            return true;
+        }
+
+        if (testClass.isAnnotationPresent(RunAsClient.class)) {
+            return false;
+        }
+
+        if (testClass.isAnnotationPresent(Transactional.class)) {
+            return true;
+        }
+
+        for (Method testMethod : testClass.getMethods(Transactional.class)) {
+            if (!testMethod.isAnnotationPresent(RunAsClient.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
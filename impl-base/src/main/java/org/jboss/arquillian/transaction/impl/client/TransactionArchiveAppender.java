@@ -18,33 +18,39 @@
 package org.jboss.arquillian.transaction.impl.client;
 
 import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
-import org.jboss.arquillian.container.test.spi.client.deployment.AuxiliaryArchiveAppender;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.spi.ServiceLoader;
 import org.jboss.arquillian.transaction.api.annotation.Transactional;
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
 import org.jboss.arquillian.transaction.impl.container.TransactionRemoteExtension;
 import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
 import org.jboss.arquillian.transaction.impl.lifecycle.TransactionHandler;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetrics;
 import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
 import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
 import org.jboss.arquillian.transaction.spi.context.TransactionContext;
 import org.jboss.arquillian.transaction.spi.event.BeforeTransactionStarted;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
 import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
-import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.asset.StringAsset;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.jboss.arquillian.transaction.impl.configuration.TransactionConfigurationConverter.exportToProperties;
 
 /**
  * An archive appender that packages all required classes for this extension.
+ * <br />
+ * When {@code singleArchiveEnabled} is set, the classes of the provider modules are packaged into the same archive,
+ * see {@link TransactionArchiveContributor}.
  *
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
-public class TransactionArchiveAppender implements AuxiliaryArchiveAppender {
+public class TransactionArchiveAppender extends CachingAuxiliaryArchiveAppender {
 
     /**
      * Represents the extension configuration.
@@ -52,11 +58,14 @@ public class TransactionArchiveAppender implements AuxiliaryArchiveAppender {
     @Inject
     private Instance<TransactionConfiguration> configurationInstance;
 
+    @Inject
+    private Instance<ServiceLoader> serviceLoaderInstance;
+
     /**
      * {@inheritDoc}
      */
     @Override
-    public Archive<?> createAuxiliaryArchive() {
+    protected JavaArchive createArchive() {
 
         final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "arquillian-transaction.jar");
 
@@ -64,11 +73,34 @@ public class TransactionArchiveAppender implements AuxiliaryArchiveAppender {
         bundleImplementation(archive);
         bundleSpi(archive);
 
+        return archive;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void completeArchive(JavaArchive archive) {
+
         addExtensionProperties(archive);
 
-        archive.addAsServiceProvider(RemoteLoadableExtension.class, TransactionRemoteExtension.class);
+        final List<Class<? extends RemoteLoadableExtension>> remoteExtensions =
+            new ArrayList<Class<? extends RemoteLoadableExtension>>();
+        remoteExtensions.add(TransactionRemoteExtension.class);
 
-        return archive;
+        if (configurationInstance.get().isSingleArchiveEnabled()) {
+            for (TransactionArchiveContributor contributor : getContributors()) {
+                archive.merge(contributor.getContribution());
+                remoteExtensions.add(contributor.getRemoteExtension());
+            }
+        }
+
+        archive.addAsServiceProvider(RemoteLoadableExtension.class,
+            remoteExtensions.toArray(new Class<?>[remoteExtensions.size()]));
+    }
+
+    private Iterable<TransactionArchiveContributor> getContributors() {
+        return serviceLoaderInstance.get().all(TransactionArchiveContributor.class);
     }
 
     private void addExtensionProperties(JavaArchive archive) {
@@ -77,14 +109,21 @@ public class TransactionArchiveAppender implements AuxiliaryArchiveAppender {
     }
 
     private void bundleImplementation(JavaArchive archive) {
+        if (ClassIndex.addIndexedClasses(archive, "arquillian-transaction-impl-base")) {
+            return;
+        }
         archive.addPackage(TransactionRemoteExtension.class.getPackage());
         archive.addPackage(TransactionConfiguration.class.getPackage());
         archive.addPackage(TransactionContextImpl.class.getPackage());
         archive.addPackage(TransactionHandler.class.getPackage());
+        archive.addPackage(TransactionMetrics.class.getPackage());
         archive.addPackage(DefaultTransactionalTest.class.getPackage());
     }
 
     private void bundleSpi(JavaArchive archive) {
+        if (ClassIndex.addIndexedClasses(archive, "arquillian-transaction-spi")) {
+            return;
+        }
         archive.addPackage(TransactionScope.class.getPackage());
         archive.addPackage(TransactionContext.class.getPackage());
         archive.addPackage(BeforeTransactionStarted.class.getPackage());
@@ -93,6 +132,9 @@ public class TransactionArchiveAppender implements AuxiliaryArchiveAppender {
     }
 
     private void bundleApi(JavaArchive archive) {
+        if (ClassIndex.addIndexedClasses(archive, "arquillian-transaction-api")) {
+            return;
+        }
         archive.addPackage(Transactional.class.getPackage());
     }
 }
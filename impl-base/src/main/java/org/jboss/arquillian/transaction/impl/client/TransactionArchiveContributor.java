@@ -0,0 +1,47 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
+/**
+ * Contributes the in-container part of a transaction provider module to the single auxiliary archive of the
+ * extension, which is built when {@code singleArchiveEnabled} is set.
+ * <br />
+ * The implementations are registered as client side services of the provider extension.
+ *
+ * @see TransactionArchiveAppender
+ */
+public interface TransactionArchiveContributor {
+
+    /**
+     * Retrieves the classes of the provider module needed in the container.
+     *
+     * @return the archive with the provider classes, which is merged into the single archive and must not be
+     *     modified by the caller
+     */
+    JavaArchive getContribution();
+
+    /**
+     * Retrieves the remote extension of the provider module.
+     *
+     * @return the remote extension registered by the single archive
+     */
+    Class<? extends RemoteLoadableExtension> getRemoteExtension();
+}
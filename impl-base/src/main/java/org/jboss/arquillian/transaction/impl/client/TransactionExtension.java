@@ -21,7 +21,10 @@ import org.jboss.arquillian.container.test.spi.client.deployment.AuxiliaryArchiv
 import org.jboss.arquillian.core.spi.LoadableExtension;
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfigurationProducer;
 import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionEnablerRegistryProducer;
 import org.jboss.arquillian.transaction.impl.lifecycle.TransactionProviderProducer;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionWatchdogTerminator;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetricsObserver;
 
 /**
  * Registers the extension.
@@ -35,7 +38,12 @@ public class TransactionExtension implements LoadableExtension {
         builder.context(TransactionContextImpl.class);
         builder.observer(TransactionConfigurationProducer.class);
         builder.observer(TransactionProviderProducer.class);
+        builder.observer(TransactionEnablerRegistryProducer.class);
         builder.observer(ClientSideTransactionHandler.class);
+        builder.observer(TransactionWatchdogTerminator.class);
+        builder.observer(TransactionMetricsObserver.class);
+        builder.observer(TransactionMetricsReceiver.class);
+        builder.observer(TransactionReporter.class);
         builder.service(AuxiliaryArchiveAppender.class, TransactionArchiveAppender.class);
     }
 }
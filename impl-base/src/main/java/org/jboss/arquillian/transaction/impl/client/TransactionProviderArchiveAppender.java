@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.shrinkwrap.api.Archive;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
+/**
+ * Base of the archive appenders of the transaction provider modules.
+ * <br />
+ * The provider is packaged into its own auxiliary archive, unless {@code singleArchiveEnabled} is set. Then the
+ * provider classes are contributed to the archive of the extension and no separate archive is appended.
+ */
+public abstract class TransactionProviderArchiveAppender extends CachingAuxiliaryArchiveAppender
+    implements TransactionArchiveContributor {
+
+    @Inject
+    private Instance<TransactionConfiguration> configurationInstance;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Archive<?> createAuxiliaryArchive() {
+
+        final TransactionConfiguration configuration = configurationInstance.get();
+        if (configuration != null && configuration.isSingleArchiveEnabled()) {
+            return null;
+        }
+        return super.createAuxiliaryArchive();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JavaArchive getContribution() {
+        return getTemplate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected JavaArchive createArchive() {
+
+        final JavaArchive archive = ShrinkWrap.create(JavaArchive.class, getArchiveName());
+
+        addClasses(archive);
+
+        return archive;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void completeArchive(JavaArchive archive) {
+
+        archive.addAsServiceProvider(RemoteLoadableExtension.class, getRemoteExtension());
+    }
+
+    /**
+     * Retrieves the name of the separate auxiliary archive.
+     *
+     * @return the archive name
+     */
+    protected abstract String getArchiveName();
+
+    /**
+     * Adds the provider classes needed in the container.
+     *
+     * @param archive
+     *     the archive
+     */
+    protected abstract void addClasses(JavaArchive archive);
+}
@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.transaction.impl.configuration.TransactionReportFormat;
+import org.jboss.arquillian.transaction.impl.metrics.LatencyHistogram;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetrics;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionTimings;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the report of the time spent in the transaction operations.
+ * <br />
+ * All the latencies are reported in nanoseconds. The percentiles are approximated by the upper bound of the
+ * histogram bucket.
+ *
+ * @see TransactionReporter
+ */
+public class TransactionReportWriter {
+
+    private static final String[] OPERATIONS = {"begin", "commit", "rollback", "elided"};
+
+    private final TransactionReportFormat format;
+
+    private final int topN;
+
+    /**
+     * Creates new instance of {@link TransactionReportWriter} class.
+     *
+     * @param format
+     *     the report format
+     * @param topN
+     *     the number of the slowest tests to list in the JSON report
+     */
+    public TransactionReportWriter(TransactionReportFormat format, int topN) {
+        this.format = format;
+        this.topN = topN;
+    }
+
+    /**
+     * Writes the report.
+     *
+     * @param transactionMetrics
+     *     the collected metrics
+     * @param writer
+     *     the writer to use
+     *
+     * @throws IOException
+     *     if any error occurs while writing the report
+     */
+    public void write(TransactionMetrics transactionMetrics, Writer writer) throws IOException {
+        if (TransactionReportFormat.CSV.equals(format)) {
+            writeCsv(transactionMetrics, writer);
+        } else {
+            writeJson(transactionMetrics, writer);
+        }
+        writer.flush();
+    }
+
+    private void writeJson(TransactionMetrics transactionMetrics, Writer writer) throws IOException {
+        final List<Map.Entry<String, TransactionTimings>> tests = sortByTotal(transactionMetrics.getTestTimings());
+
+        writer.write("{\n");
+        writer.write("  \"total\": ");
+        writeJsonTimings(getTotal(transactionMetrics), writer);
+        writer.write(",\n  \"elidedTransactions\": " + transactionMetrics.getElidedCount());
+        writer.write(",\n  \"slowestTests\": [");
+        for (int i = 0; i < Math.min(topN, tests.size()); i++) {
+            writer.write(i > 0 ? ",\n" : "\n");
+            writer.write("    {\"name\": " + quote(tests.get(i).getKey())
+                + ", \"totalNanos\": " + tests.get(i).getValue().getTotal() + "}");
+        }
+        writer.write(tests.isEmpty() || topN <= 0 ? "],\n" : "\n  ],\n");
+        writer.write("  \"tests\": ");
+        writeJsonEntries(tests, writer);
+        writer.write(",\n  \"classes\": ");
+        writeJsonEntries(sortByTotal(transactionMetrics.getClassTimings()), writer);
+        writer.write("\n}\n");
+    }
+
+    private void writeJsonEntries(List<Map.Entry<String, TransactionTimings>> entries, Writer writer)
+        throws IOException {
+        if (entries.isEmpty()) {
+            writer.write("[]");
+            return;
+        }
+        writer.write("[");
+        for (int i = 0; i < entries.size(); i++) {
+            writer.write(i > 0 ? ",\n" : "\n");
+            writer.write("    {\"name\": " + quote(entries.get(i).getKey()) + ", \"timings\": ");
+            writeJsonTimings(entries.get(i).getValue(), writer);
+            writer.write("}");
+        }
+        writer.write("\n  ]");
+    }
+
+    private void writeJsonTimings(TransactionTimings timings, Writer writer) throws IOException {
+        writer.write("{\"totalNanos\": " + timings.getTotal());
+        for (String operation : OPERATIONS) {
+            final LatencyHistogram histogram = getHistogram(timings, operation);
+            writer.write(", " + quote(operation) + ": {\"count\": " + histogram.getCount()
+                + ", \"totalNanos\": " + histogram.getTotal()
+                + ", \"meanNanos\": " + histogram.getMean()
+                + ", \"p99Nanos\": " + histogram.getPercentile(99)
+                + ", \"maxNanos\": " + histogram.getMax() + "}");
+        }
+        writer.write("}");
+    }
+
+    private void writeCsv(TransactionMetrics transactionMetrics, Writer writer) throws IOException {
+        writer.write("scope,name,operation,count,total_ns,mean_ns,p99_ns,max_ns\n");
+        writeCsvTimings("total", "", getTotal(transactionMetrics), writer);
+        for (Map.Entry<String, TransactionTimings> entry : sortByTotal(transactionMetrics.getTestTimings())) {
+            writeCsvTimings("test", entry.getKey(), entry.getValue(), writer);
+        }
+        for (Map.Entry<String, TransactionTimings> entry : sortByTotal(transactionMetrics.getClassTimings())) {
+            writeCsvTimings("class", entry.getKey(), entry.getValue(), writer);
+        }
+    }
+
+    private void writeCsvTimings(String scope, String name, TransactionTimings timings, Writer writer)
+        throws IOException {
+        for (String operation : OPERATIONS) {
+            final LatencyHistogram histogram = getHistogram(timings, operation);
+            writer.write(scope + "," + name + "," + operation + "," + histogram.getCount()
+                + "," + histogram.getTotal() + "," + histogram.getMean()
+                + "," + histogram.getPercentile(99) + "," + histogram.getMax() + "\n");
+        }
+    }
+
+    /**
+     * Sums up the timings of all the test classes, which include the ones of the class level transactions.
+     */
+    private static TransactionTimings getTotal(TransactionMetrics transactionMetrics) {
+        final TransactionTimings total = new TransactionTimings();
+        for (TransactionTimings timings : transactionMetrics.getClassTimings().values()) {
+            total.merge(timings);
+        }
+        return total;
+    }
+
+    private static LatencyHistogram getHistogram(TransactionTimings timings, String operation) {
+        if ("begin".equals(operation)) {
+            return timings.getBegin();
+        } else if ("commit".equals(operation)) {
+            return timings.getCommit();
+        } else if ("rollback".equals(operation)) {
+            return timings.getRollback();
+        }
+        return timings.getElided();
+    }
+
+    private static List<Map.Entry<String, TransactionTimings>> sortByTotal(Map<String, TransactionTimings> timings) {
+        final List<Map.Entry<String, TransactionTimings>> entries =
+            new ArrayList<Map.Entry<String, TransactionTimings>>(timings.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, TransactionTimings>>() {
+            @Override
+            public int compare(Map.Entry<String, TransactionTimings> first,
+                Map.Entry<String, TransactionTimings> second) {
+                final int result = Long.compare(second.getValue().getTotal(), first.getValue().getTotal());
+                return result != 0 ? result : first.getKey().compareTo(second.getKey());
+            }
+        });
+        return entries;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Writes the transaction overhead report after the test suite, if it has been enabled in the configuration.
+ *
+ * @see TransactionReportWriter
+ */
+public class TransactionReporter {
+
+    private static final String DEFAULT_REPORT_FILE = "target/arquillian-transaction-report.";
+
+    @Inject
+    private Instance<TransactionConfiguration> configurationInstance;
+
+    @Inject
+    private Instance<TransactionMetrics> transactionMetricsInstance;
+
+    public void writeReport(@Observes AfterSuite afterSuite) {
+        final TransactionConfiguration configuration = configurationInstance.get();
+        final TransactionMetrics transactionMetrics = transactionMetricsInstance.get();
+        if (configuration == null || !configuration.isReportEnabled() || transactionMetrics == null) {
+            return;
+        }
+
+        final File reportFile = getReportFile(configuration);
+        final File parent = reportFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new RuntimeException("Could not create the report directory " + parent + ".");
+        }
+
+        Writer writer = null;
+        try {
+            writer = new OutputStreamWriter(new FileOutputStream(reportFile), "UTF-8");
+            new TransactionReportWriter(configuration.getReportFormat(), configuration.getReportTopN())
+                .write(transactionMetrics, writer);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write the transaction report " + reportFile + ".", e);
+        } finally {
+            close(writer);
+        }
+    }
+
+    static File getReportFile(TransactionConfiguration configuration) {
+        final String reportFile = configuration.getReportFile();
+        if (reportFile != null && reportFile.trim().length() > 0) {
+            return new File(reportFile);
+        }
+        return new File(DEFAULT_REPORT_FILE + configuration.getReportFormat().getFileExtension());
+    }
+
+    private static void close(Writer writer) {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to close the report writer.", e);
+            }
+        }
+    }
+}
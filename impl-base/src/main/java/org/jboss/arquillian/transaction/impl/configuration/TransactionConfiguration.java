@@ -29,7 +29,8 @@ import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
 public class TransactionConfiguration {
 
     /**
-     * Represents the name of the manager which should be used for handling the transactions.
+     * Represents the name of the manager which should be used for handling the transactions, or a comma separated
+     * pool of names leased to the concurrently running tests.
      */
     private String manager;
 
@@ -38,6 +39,62 @@ public class TransactionConfiguration {
      */
     private TransactionMode transactionDefaultMode = TransactionMode.COMMIT;
 
+    /**
+     * Whether the providers are allowed to cache the transaction handles they look up by name (true by default).
+     * Should be disabled for containers handing out handles which can't be reused.
+     */
+    private boolean lookupCacheEnabled = true;
+
+    /**
+     * Default transaction timeout in seconds used for tests if not specified otherwise using annotation, 0 means
+     * the default timeout of the provider.
+     */
+    private int transactionTimeout;
+
+    /**
+     * Whether the report of the time spent in transaction operations is written after the test suite.
+     */
+    private boolean reportEnabled;
+
+    /**
+     * The format of the report, JSON by default.
+     */
+    private TransactionReportFormat reportFormat = TransactionReportFormat.JSON;
+
+    /**
+     * The path of the report file, {@code target/arquillian-transaction-report} with the format extension if not set.
+     */
+    private String reportFile;
+
+    /**
+     * The number of the slowest tests listed in the report.
+     */
+    private int reportTopN = 10;
+
+    /**
+     * Whether the providers supporting it are allowed to roll back the transactions in background, while the next
+     * test proceeds (false by default).
+     */
+    private boolean asyncRollbackEnabled;
+
+    /**
+     * Whether the provider modules are packaged together with the extension into a single auxiliary archive
+     * (false by default).
+     */
+    private boolean singleArchiveEnabled;
+
+    /**
+     * Whether the providers supporting it are allowed to defer the begin of the test transaction until a method of
+     * its injected resource is first invoked (false by default). The resources are injected as proxies then.
+     */
+    private boolean lazyBeginEnabled;
+
+    /**
+     * How long in seconds a test waits for a manager of a pool to be released (60 by default), 0 means the test
+     * waits until one is released.
+     */
+    private int managerLeaseTimeout = 60;
+
     public String getManager() {
         return manager;
     }
@@ -53,4 +110,84 @@ public class TransactionConfiguration {
     public void setTransactionDefaultMode(TransactionMode transactionDefaultMode) {
         this.transactionDefaultMode = transactionDefaultMode;
     }
+
+    public boolean isLookupCacheEnabled() {
+        return lookupCacheEnabled;
+    }
+
+    public void setLookupCacheEnabled(boolean lookupCacheEnabled) {
+        this.lookupCacheEnabled = lookupCacheEnabled;
+    }
+
+    public int getTransactionTimeout() {
+        return transactionTimeout;
+    }
+
+    public void setTransactionTimeout(int transactionTimeout) {
+        this.transactionTimeout = transactionTimeout;
+    }
+
+    public boolean isReportEnabled() {
+        return reportEnabled;
+    }
+
+    public void setReportEnabled(boolean reportEnabled) {
+        this.reportEnabled = reportEnabled;
+    }
+
+    public TransactionReportFormat getReportFormat() {
+        return reportFormat;
+    }
+
+    public void setReportFormat(TransactionReportFormat reportFormat) {
+        this.reportFormat = reportFormat;
+    }
+
+    public String getReportFile() {
+        return reportFile;
+    }
+
+    public void setReportFile(String reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    public int getReportTopN() {
+        return reportTopN;
+    }
+
+    public void setReportTopN(int reportTopN) {
+        this.reportTopN = reportTopN;
+    }
+
+    public boolean isAsyncRollbackEnabled() {
+        return asyncRollbackEnabled;
+    }
+
+    public void setAsyncRollbackEnabled(boolean asyncRollbackEnabled) {
+        this.asyncRollbackEnabled = asyncRollbackEnabled;
+    }
+
+    public boolean isSingleArchiveEnabled() {
+        return singleArchiveEnabled;
+    }
+
+    public void setSingleArchiveEnabled(boolean singleArchiveEnabled) {
+        this.singleArchiveEnabled = singleArchiveEnabled;
+    }
+
+    public boolean isLazyBeginEnabled() {
+        return lazyBeginEnabled;
+    }
+
+    public void setLazyBeginEnabled(boolean lazyBeginEnabled) {
+        this.lazyBeginEnabled = lazyBeginEnabled;
+    }
+
+    public int getManagerLeaseTimeout() {
+        return managerLeaseTimeout;
+    }
+
+    public void setManagerLeaseTimeout(int managerLeaseTimeout) {
+        this.managerLeaseTimeout = managerLeaseTimeout;
+    }
 }
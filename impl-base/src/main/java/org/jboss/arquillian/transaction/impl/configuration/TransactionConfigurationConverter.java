@@ -48,6 +48,13 @@ public class TransactionConfigurationConverter {
             Properties properties = new Properties();
             setPropertyValue(properties, "manager", configuration.getManager());
             setPropertyValue(properties, "transactionDefaultMode", configuration.getTransactionDefaultMode().name());
+            setPropertyValue(properties, "lookupCacheEnabled", String.valueOf(configuration.isLookupCacheEnabled()));
+            setPropertyValue(properties, "transactionTimeout", String.valueOf(configuration.getTransactionTimeout()));
+            setPropertyValue(properties, "reportEnabled", String.valueOf(configuration.isReportEnabled()));
+            setPropertyValue(properties, "asyncRollbackEnabled",
+                String.valueOf(configuration.isAsyncRollbackEnabled()));
+            setPropertyValue(properties, "lazyBeginEnabled", String.valueOf(configuration.isLazyBeginEnabled()));
+            setPropertyValue(properties, "managerLeaseTimeout", String.valueOf(configuration.getManagerLeaseTimeout()));
             properties.store(outputStream, "arquillian-transaction-configuration");
 
             return outputStream.toString();
@@ -77,6 +84,30 @@ public class TransactionConfigurationConverter {
             if (transactionDefaultMode != null && transactionDefaultMode.length() > 0) {
                 transactionConfiguration.setTransactionDefaultMode(TransactionMode.valueOf(transactionDefaultMode));
             }
+            final String lookupCacheEnabled = getPropertyValue(properties, "lookupCacheEnabled");
+            if (lookupCacheEnabled != null) {
+                transactionConfiguration.setLookupCacheEnabled(Boolean.parseBoolean(lookupCacheEnabled));
+            }
+            final String transactionTimeout = getPropertyValue(properties, "transactionTimeout");
+            if (transactionTimeout != null) {
+                transactionConfiguration.setTransactionTimeout(Integer.parseInt(transactionTimeout));
+            }
+            final String reportEnabled = getPropertyValue(properties, "reportEnabled");
+            if (reportEnabled != null) {
+                transactionConfiguration.setReportEnabled(Boolean.parseBoolean(reportEnabled));
+            }
+            final String asyncRollbackEnabled = getPropertyValue(properties, "asyncRollbackEnabled");
+            if (asyncRollbackEnabled != null) {
+                transactionConfiguration.setAsyncRollbackEnabled(Boolean.parseBoolean(asyncRollbackEnabled));
+            }
+            final String lazyBeginEnabled = getPropertyValue(properties, "lazyBeginEnabled");
+            if (lazyBeginEnabled != null) {
+                transactionConfiguration.setLazyBeginEnabled(Boolean.parseBoolean(lazyBeginEnabled));
+            }
+            final String managerLeaseTimeout = getPropertyValue(properties, "managerLeaseTimeout");
+            if (managerLeaseTimeout != null) {
+                transactionConfiguration.setManagerLeaseTimeout(Integer.parseInt(managerLeaseTimeout));
+            }
             return transactionConfiguration;
         } catch (IOException e) {
             throw new RuntimeException("Could not import the configuration.", e);
@@ -27,6 +27,7 @@ import org.jboss.arquillian.core.api.annotation.Observes;
 import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
 
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -42,6 +43,26 @@ public class TransactionConfigurationProducer {
 
     public static final String DEFAULT_TRANSACTION_MODE_PROPERTY_NAME = "transactionDefaultMode";
 
+    public static final String LOOKUP_CACHE_ENABLED_PROPERTY_NAME = "lookupCacheEnabled";
+
+    public static final String TRANSACTION_TIMEOUT_PROPERTY_NAME = "transactionTimeout";
+
+    public static final String REPORT_ENABLED_PROPERTY_NAME = "reportEnabled";
+
+    public static final String REPORT_FORMAT_PROPERTY_NAME = "reportFormat";
+
+    public static final String REPORT_FILE_PROPERTY_NAME = "reportFile";
+
+    public static final String REPORT_TOP_N_PROPERTY_NAME = "reportTopN";
+
+    public static final String ASYNC_ROLLBACK_ENABLED_PROPERTY_NAME = "asyncRollbackEnabled";
+
+    public static final String SINGLE_ARCHIVE_ENABLED_PROPERTY_NAME = "singleArchiveEnabled";
+
+    public static final String LAZY_BEGIN_ENABLED_PROPERTY_NAME = "lazyBeginEnabled";
+
+    public static final String MANAGER_LEASE_TIMEOUT_PROPERTY_NAME = "managerLeaseTimeout";
+
     @Inject @ApplicationScoped
     private InstanceProducer<TransactionConfiguration> configurationInstance;
 
@@ -75,6 +96,43 @@ public class TransactionConfigurationProducer {
         if (transactionDefaultMode != null && transactionDefaultMode.length() > 0) {
             configuration.setTransactionDefaultMode(TransactionMode.valueOf(transactionDefaultMode));
         }
+        final String lookupCacheEnabled = extensionProperties.get(LOOKUP_CACHE_ENABLED_PROPERTY_NAME);
+        if (lookupCacheEnabled != null && lookupCacheEnabled.length() > 0) {
+            configuration.setLookupCacheEnabled(Boolean.parseBoolean(lookupCacheEnabled));
+        }
+        final String transactionTimeout = extensionProperties.get(TRANSACTION_TIMEOUT_PROPERTY_NAME);
+        if (transactionTimeout != null && transactionTimeout.length() > 0) {
+            configuration.setTransactionTimeout(Integer.parseInt(transactionTimeout));
+        }
+        final String reportEnabled = extensionProperties.get(REPORT_ENABLED_PROPERTY_NAME);
+        if (reportEnabled != null && reportEnabled.length() > 0) {
+            configuration.setReportEnabled(Boolean.parseBoolean(reportEnabled));
+        }
+        final String reportFormat = extensionProperties.get(REPORT_FORMAT_PROPERTY_NAME);
+        if (reportFormat != null && reportFormat.length() > 0) {
+            configuration.setReportFormat(TransactionReportFormat.valueOf(reportFormat.toUpperCase(Locale.ENGLISH)));
+        }
+        configuration.setReportFile(extensionProperties.get(REPORT_FILE_PROPERTY_NAME));
+        final String reportTopN = extensionProperties.get(REPORT_TOP_N_PROPERTY_NAME);
+        if (reportTopN != null && reportTopN.length() > 0) {
+            configuration.setReportTopN(Integer.parseInt(reportTopN));
+        }
+        final String asyncRollbackEnabled = extensionProperties.get(ASYNC_ROLLBACK_ENABLED_PROPERTY_NAME);
+        if (asyncRollbackEnabled != null && asyncRollbackEnabled.length() > 0) {
+            configuration.setAsyncRollbackEnabled(Boolean.parseBoolean(asyncRollbackEnabled));
+        }
+        final String singleArchiveEnabled = extensionProperties.get(SINGLE_ARCHIVE_ENABLED_PROPERTY_NAME);
+        if (singleArchiveEnabled != null && singleArchiveEnabled.length() > 0) {
+            configuration.setSingleArchiveEnabled(Boolean.parseBoolean(singleArchiveEnabled));
+        }
+        final String lazyBeginEnabled = extensionProperties.get(LAZY_BEGIN_ENABLED_PROPERTY_NAME);
+        if (lazyBeginEnabled != null && lazyBeginEnabled.length() > 0) {
+            configuration.setLazyBeginEnabled(Boolean.parseBoolean(lazyBeginEnabled));
+        }
+        final String managerLeaseTimeout = extensionProperties.get(MANAGER_LEASE_TIMEOUT_PROPERTY_NAME);
+        if (managerLeaseTimeout != null && managerLeaseTimeout.length() > 0) {
+            configuration.setManagerLeaseTimeout(Integer.parseInt(managerLeaseTimeout));
+        }
 
         return configuration;
     }
@@ -17,6 +17,7 @@
  */
 package org.jboss.arquillian.transaction.impl.container;
 
+import org.jboss.arquillian.test.spi.event.suite.ClassEvent;
 import org.jboss.arquillian.test.spi.event.suite.TestEvent;
 import org.jboss.arquillian.transaction.impl.lifecycle.TransactionHandler;
 
@@ -26,4 +27,10 @@ public class InContainerTransactionHandler extends TransactionHandler {
     public boolean isTransactionSupported(TestEvent testEvent) {
         return true;
     }
+
+    @Override
+    public boolean isClassTransactionSupported(ClassEvent classEvent) {
+        // the container replays the class events around every test, so the class transaction spans a single test
+        return true;
+    }
 }
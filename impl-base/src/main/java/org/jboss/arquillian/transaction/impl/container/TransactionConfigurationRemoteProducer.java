@@ -51,6 +51,10 @@ public class TransactionConfigurationRemoteProducer {
         TransactionConfiguration configuration = TransactionConfigurationConverter.importFromProperties(
             SecurityActions.getResource("arquillian-transaction-configuration.properties"));
 
+        // the in-container run of every test ends once it returns to the client, so there is no later point to
+        // await the rollbacks executed in background at, they are executed by the test thread instead
+        configuration.setAsyncRollbackEnabled(false);
+
         configurationInstance.set(configuration);
     }
 }
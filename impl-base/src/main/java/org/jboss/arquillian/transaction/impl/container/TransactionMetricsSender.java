@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.container;
+
+import org.jboss.arquillian.container.test.spi.command.CommandService;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetrics;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetricsCommand;
+
+/**
+ * Ships the metrics collected in the container to the client side, where the report is written.
+ * <br />
+ * The test suite life cycle is executed in the container for every test invocation, so the metrics
+ * are shipped once per test.
+ */
+public class TransactionMetricsSender {
+
+    @Inject
+    private Instance<TransactionConfiguration> configurationInstance;
+
+    @Inject
+    private Instance<TransactionMetrics> transactionMetricsInstance;
+
+    @Inject
+    private Instance<CommandService> commandServiceInstance;
+
+    public void sendMetrics(@Observes AfterSuite afterSuite) {
+        final TransactionConfiguration configuration = configurationInstance.get();
+        final TransactionMetrics transactionMetrics = transactionMetricsInstance.get();
+        if (configuration == null || !configuration.isReportEnabled()
+            || transactionMetrics == null || transactionMetrics.isEmpty()) {
+            return;
+        }
+
+        final CommandService commandService = commandServiceInstance.get();
+        if (commandService != null) {
+            commandService.execute(new TransactionMetricsCommand(transactionMetrics));
+        }
+    }
+}
@@ -19,7 +19,10 @@ package org.jboss.arquillian.transaction.impl.container;
 
 import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
 import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionEnablerRegistryProducer;
 import org.jboss.arquillian.transaction.impl.lifecycle.TransactionProviderProducer;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionWatchdogTerminator;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetricsObserver;
 
 /**
  * Registers the extension in the remote container.
@@ -36,6 +39,10 @@ public class TransactionRemoteExtension implements RemoteLoadableExtension {
         builder.context(TransactionContextImpl.class);
         builder.observer(TransactionConfigurationRemoteProducer.class);
         builder.observer(InContainerTransactionHandler.class);
+        builder.observer(TransactionWatchdogTerminator.class);
         builder.observer(TransactionProviderProducer.class);
+        builder.observer(TransactionEnablerRegistryProducer.class);
+        builder.observer(TransactionMetricsObserver.class);
+        builder.observer(TransactionMetricsSender.class);
     }
 }
@@ -27,15 +27,18 @@ import java.lang.annotation.Annotation;
 
 /**
  * The default implementation of the {@link TransactionContext} that supports {@link TransactionScope}.
+ * <br />
+ * The context is bound to the executing thread, so tests executed in parallel do not share or destroy each other's
+ * transaction scoped objects. The context has to be activated and destroyed by the same thread.
  *
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
 public class TransactionContextImpl extends AbstractContext<String> implements TransactionContext {
 
     /**
-     * Represents the name used as the id for this context.
+     * Represents the prefix of the ids used for this context.
      */
-    private static final String TRANSACTION_CONTEXT_ID = "transaction";
+    private static final String TRANSACTION_CONTEXT_ID_PREFIX = "transaction-";
 
     /**
      * {@inheritDoc}
@@ -58,7 +61,18 @@ public class TransactionContextImpl extends AbstractContext<String> implements T
      */
     @Override
     public void activate() {
-        super.activate(TRANSACTION_CONTEXT_ID);
+        super.activate(getContextId());
+    }
+
+    /**
+     * Activates in the current thread the context bound to the given thread, so the transaction scoped objects of
+     * that thread can be accessed, e.g. by the transaction watchdog. The context has to be deactivated afterwards.
+     *
+     * @param thread
+     *     the thread the context is bound to
+     */
+    public void activate(Thread thread) {
+        super.activate(getContextId(thread));
     }
 
     /**
@@ -66,6 +80,19 @@ public class TransactionContextImpl extends AbstractContext<String> implements T
      */
     @Override
     public void destroy() {
-        super.destroy(TRANSACTION_CONTEXT_ID);
+        super.destroy(getContextId());
+    }
+
+    /**
+     * Retrieves the id of the context bound to the current thread.
+     *
+     * @return the context id
+     */
+    private static String getContextId() {
+        return getContextId(Thread.currentThread());
+    }
+
+    private static String getContextId(Thread thread) {
+        return TRANSACTION_CONTEXT_ID_PREFIX + thread.getId();
     }
 }
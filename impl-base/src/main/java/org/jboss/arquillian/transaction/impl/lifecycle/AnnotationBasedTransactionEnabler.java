@@ -24,7 +24,8 @@ import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
 
 /**
  * Resolves transactional support using annotation
- * based model.
+ * based model. The annotations are read from the {@link TransactionalIndex}
+ * if the test classes have been indexed at compile time.
  *
  * @author <a href="mailto:bartosz.majsak@gmail.com">Bartosz Majsak</a>
  * @see Transactional
@@ -34,21 +35,29 @@ public class AnnotationBasedTransactionEnabler implements TransactionEnabler {
 
     @Override
     public boolean isTransactionHandlingDefinedOnClassLevel(TestEvent testEvent) {
-        return testEvent.getTestClass().isAnnotationPresent(Transactional.class);
+        return getClassTransactional(testEvent) != null;
     }
 
     @Override
     public boolean isTransactionHandlingDefinedOnMethodLevel(TestEvent testEvent) {
-        return testEvent.getTestMethod().isAnnotationPresent(Transactional.class);
+        return getMethodTransactional(testEvent) != null;
     }
 
     @Override
     public TransactionMode getTransactionModeFromClassLevel(TestEvent testEvent) {
-        return testEvent.getTestClass().getAnnotation(Transactional.class).value();
+        return getClassTransactional(testEvent).value();
     }
 
     @Override
     public TransactionMode getTransactionModeFromMethodLevel(TestEvent testEvent) {
-        return testEvent.getTestMethod().getAnnotation(Transactional.class).value();
+        return getMethodTransactional(testEvent).value();
+    }
+
+    private Transactional getClassTransactional(TestEvent testEvent) {
+        return TransactionalIndex.getInstance().getTransactional(testEvent.getTestClass().getJavaClass());
+    }
+
+    private Transactional getMethodTransactional(TestEvent testEvent) {
+        return TransactionalIndex.getInstance().getTransactional(testEvent.getTestMethod());
     }
 }
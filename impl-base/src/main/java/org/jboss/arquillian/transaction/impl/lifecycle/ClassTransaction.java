@@ -0,0 +1,262 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+import org.jboss.arquillian.core.api.Event;
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.TransactionEvent;
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+import org.jboss.arquillian.transaction.spi.provider.SavepointTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+/**
+ * The transaction spanning multiple tests of a single test class.
+ * <br />
+ * The instance is stored in the class context, the transaction is considered active between
+ * {@link #begin(Class, TransactionProvider, TransactionMetadata, TransactionManagerPool.Lease)} and {@link #end()}
+ * calls. Tests in {@link TransactionMode#SAVEPOINT} mode are isolated by a savepoint set when they join
+ * the transaction and rolled back to when they leave it, the failure of any other test marks the transaction
+ * rollback only.
+ *
+ * @see TransactionHandler
+ */
+public class ClassTransaction {
+
+    private final TransactionContext transactionContext;
+
+    private final Event<TransactionEvent> lifecycleEvent;
+
+    private Class<?> testClass;
+
+    private TransactionProvider transactionProvider;
+
+    private TransactionalTest transactionalTest;
+
+    private TransactionMode transactionMode;
+
+    private boolean rollbackOnly;
+
+    private TransactionManagerPool.Lease managerLease;
+
+    /**
+     * Creates new instance of {@link ClassTransaction} class.
+     *
+     * @param transactionContext
+     *     the transaction context, active while the transaction is
+     * @param lifecycleEvent
+     *     the event used for firing the transaction events
+     */
+    ClassTransaction(TransactionContext transactionContext, Event<TransactionEvent> lifecycleEvent) {
+        this.transactionContext = transactionContext;
+        this.lifecycleEvent = lifecycleEvent;
+    }
+
+    /**
+     * Returns whether the test should be executed within the transaction shared by the test class. Tests in
+     * {@link TransactionMode#SAVEPOINT} mode are handled as {@link TransactionMode#ROLLBACK} ones
+     * if the provider does not support savepoints.
+     *
+     * @param transactionMetadata
+     *     the transaction metadata of the test or of the test class
+     * @param transactionProvider
+     *     the transaction provider
+     *
+     * @return true if the shared transaction should be used, false otherwise
+     */
+    static boolean isRequired(TransactionMetadata transactionMetadata, TransactionProvider transactionProvider) {
+        final TransactionMode transactionMode = transactionMetadata.getTransactionMode();
+        if (transactionMode == null || TransactionMode.DISABLED.equals(transactionMode)) {
+            return false;
+        }
+        return TransactionBoundary.CLASS.equals(transactionMetadata.getTransactionBoundary())
+            || isSavepointEnabled(transactionMode, transactionProvider);
+    }
+
+    /**
+     * Begins the transaction and marks it as active.
+     *
+     * @param testClass
+     *     the test class
+     * @param transactionProvider
+     *     the provider beginning the transaction
+     * @param transactionMetadata
+     *     the transaction metadata of the test or of the test class starting the transaction
+     * @param managerLease
+     *     the lease of the manager taken from a pool or null if a single manager is used, released if the
+     *     transaction could not be begun
+     */
+    void begin(Class<?> testClass, TransactionProvider transactionProvider, TransactionMetadata transactionMetadata,
+        TransactionManagerPool.Lease managerLease) {
+
+        final TransactionMetadata leasedMetadata = managerLease != null
+            ? transactionMetadata.withManager(managerLease.getManager()) : transactionMetadata;
+        final TransactionalTest leasedTest = leasedMetadata.createTransactionalTest(testClass.getName());
+        final TransactionMode transactionMode = leasedMetadata.getTransactionMode();
+
+        transactionContext.activate();
+
+        try {
+            lifecycleEvent.fire(
+                new BeforeTransactionStarted(testClass, null, transactionMode, leasedTest.getManager()));
+
+            transactionProvider.beginTransaction(leasedTest);
+        } catch (RuntimeException e) {
+            if (managerLease != null) {
+                managerLease.release();
+            }
+            throw e;
+        }
+        this.testClass = testClass;
+        this.transactionProvider = transactionProvider;
+        this.transactionalTest = leasedTest;
+        this.transactionMode = transactionMode;
+        this.rollbackOnly = false;
+        this.managerLease = managerLease;
+
+        lifecycleEvent.fire(
+            new AfterTransactionStarted(testClass, null, transactionMode, leasedTest.getManager()));
+    }
+
+    /**
+     * Lets a test join the transaction, setting the savepoint the test is rolled back to once it ends.
+     */
+    void join() {
+        if (isSavepointEnabled(transactionMode, transactionProvider)) {
+            ((SavepointTransactionProvider) transactionProvider).setSavepoint(transactionalTest);
+        }
+    }
+
+    /**
+     * Lets a test leave the transaction, rolling back to the savepoint of the test or marking the transaction
+     * rollback only if the test has failed.
+     *
+     * @param testFailed
+     *     whether the test has failed
+     */
+    void leave(boolean testFailed) {
+        if (!isActive()) {
+            return;
+        }
+
+        if (!isSavepointEnabled(transactionMode, transactionProvider)) {
+            if (testFailed) {
+                rollbackOnly = true;
+            }
+            return;
+        }
+
+        try {
+            ((SavepointTransactionProvider) transactionProvider).rollbackToSavepoint(transactionalTest);
+        } catch (RuntimeException e) {
+            // the state of the shared transaction is unknown, so it must not be used by following tests
+            end();
+            throw e;
+        }
+    }
+
+    /**
+     * Ends the transaction if it is active, releases the leased manager and destroys the transaction context.
+     */
+    void end() {
+        if (!isActive()) {
+            return;
+        }
+
+        final Class<?> endedClass = testClass;
+        final TransactionMode endedMode = transactionMode;
+        final String manager = transactionalTest.getManager();
+        final TransactionManagerPool.Lease endedLease = managerLease;
+        TransactionOutcome outcome = TransactionOutcome.FAILED;
+        try {
+            lifecycleEvent.fire(new BeforeTransactionEnded(endedClass, null, endedMode, manager));
+
+            outcome = TransactionCompletion.complete(transactionProvider, transactionalTest,
+                rollbackOnly || !TransactionMode.COMMIT.equals(endedMode));
+        } finally {
+            deactivate();
+            lifecycleEvent.fire(new AfterTransactionEnded(endedClass, null, endedMode, manager, outcome));
+            if (endedLease != null) {
+                endedLease.release();
+            }
+            transactionContext.destroy();
+        }
+    }
+
+    public boolean isActive() {
+        return transactionProvider != null;
+    }
+
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    public TransactionProvider getTransactionProvider() {
+        return transactionProvider;
+    }
+
+    public TransactionalTest getTransactionalTest() {
+        return transactionalTest;
+    }
+
+    public TransactionMode getTransactionMode() {
+        return transactionMode;
+    }
+
+    public boolean isRollbackOnly() {
+        return rollbackOnly;
+    }
+
+    /**
+     * Returns whether a test using the given transaction manager and mode can join this transaction.
+     *
+     * @param manager
+     *     the transaction manager name, might be null
+     * @param transactionMode
+     *     the transaction mode
+     *
+     * @return true if the transaction is active and has been started for the same manager and mode
+     */
+    public boolean isActiveFor(String manager, TransactionMode transactionMode) {
+        if (!isActive() || !this.transactionMode.equals(transactionMode)) {
+            return false;
+        }
+        final String activeManager = managerLease != null ? managerLease.getManagers() : transactionalTest.getManager();
+        return manager == null ? activeManager == null : manager.equals(activeManager);
+    }
+
+    private void deactivate() {
+        this.testClass = null;
+        this.transactionProvider = null;
+        this.transactionalTest = null;
+        this.transactionMode = null;
+        this.rollbackOnly = false;
+        this.managerLease = null;
+    }
+
+    private static boolean isSavepointEnabled(TransactionMode transactionMode,
+        TransactionProvider transactionProvider) {
+        return TransactionMode.SAVEPOINT.equals(transactionMode)
+            && transactionProvider instanceof SavepointTransactionProvider;
+    }
+}
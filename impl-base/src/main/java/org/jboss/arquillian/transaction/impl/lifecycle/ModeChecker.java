@@ -19,4 +19,10 @@ public class ModeChecker {
         boolean isLocal = RunModeUtils.isLocalContainer(container);
         return runAsClient || isLocal;
     }
+
+    public boolean isClientMode(Class<?> testClass) {
+        boolean runAsClient = RunModeUtils.isRunAsClient(deployment, testClass, null);
+        boolean isLocal = RunModeUtils.isLocalContainer(container);
+        return runAsClient || isLocal;
+    }
 }
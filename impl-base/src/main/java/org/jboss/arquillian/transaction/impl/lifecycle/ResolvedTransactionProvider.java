@@ -0,0 +1,97 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+
+/**
+ * The outcome of the {@link TransactionProvider} lookup, performed once for the whole test suite.
+ * <br />
+ * Ambiguous lookup is not reported until the provider is actually requested, so test suites which
+ * are not using transactions are not affected by it. The resolved instance is shared by all the tests of the
+ * suite and by the threads executing them, which {@link TransactionProvider} requires its implementations to
+ * support.
+ *
+ * @see TransactionProviderProducer
+ */
+public final class ResolvedTransactionProvider {
+
+    private final TransactionProvider transactionProvider;
+
+    private final IllegalStateException lookupFailure;
+
+    private ResolvedTransactionProvider(TransactionProvider transactionProvider,
+        IllegalStateException lookupFailure) {
+        this.transactionProvider = transactionProvider;
+        this.lookupFailure = lookupFailure;
+    }
+
+    /**
+     * Looks up the single {@link TransactionProvider} registered in the given service loader.
+     *
+     * @param serviceLoader
+     *     the service loader
+     *
+     * @return the lookup outcome
+     */
+    public static ResolvedTransactionProvider resolve(ServiceLoader serviceLoader) {
+        try {
+            return new ResolvedTransactionProvider(serviceLoader.onlyOne(TransactionProvider.class), null);
+        } catch (IllegalStateException e) {
+            return new ResolvedTransactionProvider(null, e);
+        }
+    }
+
+    /**
+     * Returns the lookup outcome stored by the given producer, resolving and storing it first if needed.
+     *
+     * @param producer
+     *     the application scoped producer
+     * @param serviceLoader
+     *     the service loader
+     *
+     * @return the lookup outcome
+     */
+    public static ResolvedTransactionProvider getOrResolve(InstanceProducer<ResolvedTransactionProvider> producer,
+        ServiceLoader serviceLoader) {
+        ResolvedTransactionProvider resolvedTransactionProvider = producer.get();
+        if (resolvedTransactionProvider == null) {
+            resolvedTransactionProvider = resolve(serviceLoader);
+            producer.set(resolvedTransactionProvider);
+        }
+        return resolvedTransactionProvider;
+    }
+
+    /**
+     * Retrieves the transaction provider.
+     *
+     * @return the provider or null if none has been registered
+     *
+     * @throws TransactionProviderNotFoundException
+     *     if there are multiple providers registered
+     */
+    public TransactionProvider getTransactionProvider() {
+        if (lookupFailure != null) {
+            throw new TransactionProviderNotFoundException("More then one transaction provider has been specified.",
+                lookupFailure);
+        }
+        return transactionProvider;
+    }
+}
@@ -37,7 +37,8 @@ final class RunModeUtils {
     /**
      * Check is this should run as client.
      * <p/>
-     * Verify @Deployment.testable vs @RunAsClient on Class or Method level
+     * Verify @Deployment.testable vs @RunAsClient on Class or Method level, the test method might be null
+     * when checking the whole test class.
      */
     public static boolean isRunAsClient(Deployment deployment, Class<?> testClass, Method testMethod) {
         boolean runAsClient = true;
@@ -45,7 +46,7 @@ final class RunModeUtils {
             runAsClient = !deployment.getDescription().testable();
             runAsClient = !deployment.isDeployed() || runAsClient;
 
-            if (testMethod.isAnnotationPresent(RunAsClient.class)) {
+            if (testMethod != null && testMethod.isAnnotationPresent(RunAsClient.class)) {
                 runAsClient = true;
             } else if (testClass.isAnnotationPresent(RunAsClient.class)) {
                 runAsClient = true;
@@ -0,0 +1,226 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.Event;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.TransactionEvent;
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+import org.jboss.arquillian.transaction.spi.provider.PendingTransaction;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The transaction of a single test, which is begun either immediately or on the first use of its resource.
+ * <br />
+ * The transaction holds the manager leased for the test, if any, and is watched by the {@link TransactionWatchdog}
+ * once begun if the test has a timeout.
+ *
+ * @see TransactionHandler
+ */
+final class TestTransaction implements PendingTransaction {
+
+    private static final Logger LOGGER = Logger.getLogger(TestTransaction.class.getName());
+
+    private final Class<?> testClass;
+
+    private final Method testMethod;
+
+    private final TransactionMetadata transactionMetadata;
+
+    private final TransactionManagerPool.Lease managerLease;
+
+    private final TransactionProvider transactionProvider;
+
+    private final TransactionContext transactionContext;
+
+    private final Event<TransactionEvent> lifecycleEvent;
+
+    private final TransactionalTest transactionalTest;
+
+    private TransactionWatchdog.TransactionDeadline deadline;
+
+    private boolean deferred;
+
+    private boolean begun;
+
+    /**
+     * Creates new instance of {@link TestTransaction} class.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method
+     * @param transactionMetadata
+     *     the transaction metadata of the test
+     * @param managerLease
+     *     the lease of the manager taken from a pool or null if the test uses a single manager
+     * @param transactionProvider
+     *     the transaction provider
+     * @param transactionContext
+     *     the transaction context of the test
+     * @param lifecycleEvent
+     *     the event used for firing the transaction events
+     */
+    TestTransaction(Class<?> testClass, Method testMethod, TransactionMetadata transactionMetadata,
+        TransactionManagerPool.Lease managerLease, TransactionProvider transactionProvider,
+        TransactionContext transactionContext, Event<TransactionEvent> lifecycleEvent) {
+        this.testClass = testClass;
+        this.testMethod = testMethod;
+        this.transactionMetadata = managerLease != null
+            ? transactionMetadata.withManager(managerLease.getManager()) : transactionMetadata;
+        this.managerLease = managerLease;
+        this.transactionProvider = transactionProvider;
+        this.transactionContext = transactionContext;
+        this.lifecycleEvent = lifecycleEvent;
+        this.transactionalTest = this.transactionMetadata.createTransactionalTest(getTestName());
+    }
+
+    /**
+     * Defers the begin of the transaction until the provider asks for it on the first use of its resource.
+     */
+    void defer() {
+        deferred = true;
+    }
+
+    @Override
+    public void begin() {
+        if (begun) {
+            return;
+        }
+        begun = true;
+
+        final TransactionMode transactionMode = transactionMetadata.getTransactionMode();
+        final String manager = transactionMetadata.getManager();
+
+        lifecycleEvent.fire(new BeforeTransactionStarted(testClass, testMethod, transactionMode, manager));
+
+        final int timeout = transactionMetadata.getTimeout();
+        transactionProvider.beginTransaction(transactionalTest);
+        if (timeout > 0) {
+            deadline = TransactionWatchdog.getInstance().watch(timeout, TimeUnit.SECONDS, new TimeoutAction());
+        }
+
+        lifecycleEvent.fire(new AfterTransactionStarted(testClass, testMethod, transactionMode, manager));
+    }
+
+    @Override
+    public boolean isBegun() {
+        return begun;
+    }
+
+    /**
+     * Ends the transaction, releases the leased manager and destroys the transaction context.
+     *
+     * @param testFailed
+     *     whether the test has failed, so the transaction has to be rolled back
+     *
+     * @throws TransactionTimeoutException
+     *     if the transaction has exceeded its timeout, after it has been rolled back
+     */
+    void end(boolean testFailed) {
+        final TransactionMode transactionMode = transactionMetadata.getTransactionMode();
+        final String manager = transactionMetadata.getManager();
+        final boolean timedOut = isTimedOut();
+        TransactionOutcome outcome = TransactionOutcome.FAILED;
+        try {
+            lifecycleEvent.fire(new BeforeTransactionEnded(testClass, testMethod, transactionMode, manager));
+
+            if (deferred && !begun) {
+                // the transactional resource has never been used, so there is nothing to complete
+                outcome = TransactionOutcome.ELIDED;
+            } else {
+                outcome = TransactionCompletion.complete(transactionProvider, transactionalTest,
+                    timedOut || testFailed || !TransactionMode.COMMIT.equals(transactionMode));
+            }
+        } finally {
+            lifecycleEvent.fire(new AfterTransactionEnded(testClass, testMethod, transactionMode, manager, outcome));
+            releaseManager();
+            transactionContext.destroy();
+        }
+
+        if (timedOut) {
+            throw new TransactionTimeoutException("The transaction of test " + getTestName()
+                + " has exceeded its timeout of " + transactionMetadata.getTimeout()
+                + " seconds and has been rolled back.");
+        }
+    }
+
+    /**
+     * Returns the leased manager to its pool, used also when the transaction could not be begun.
+     */
+    void releaseManager() {
+        if (managerLease != null) {
+            managerLease.release();
+        }
+    }
+
+    /**
+     * Stops watching the transaction and returns whether it has exceeded its timeout.
+     *
+     * @return true if the transaction has exceeded its timeout, false otherwise
+     */
+    private boolean isTimedOut() {
+        if (deadline == null) {
+            return false;
+        }
+        deadline.cancel();
+        return deadline.isExpired();
+    }
+
+    private String getTestName() {
+        return testClass.getName() + "#" + testMethod.getName();
+    }
+
+    /**
+     * Marks the transaction rollback only once it exceeds its timeout, while the test might be still running.
+     * The action is executed by the watchdog thread, which acts within the transaction context of the test.
+     * It never runs once the deadline has been cancelled, which precedes the destruction of that context.
+     */
+    private final class TimeoutAction implements Runnable {
+
+        private final Thread testThread = Thread.currentThread();
+
+        @Override
+        public void run() {
+            LOGGER.warning("The transaction of test " + getTestName() + " has exceeded its timeout of "
+                + transactionMetadata.getTimeout() + " seconds, it is marked rollback only.");
+
+            if (!(transactionContext instanceof TransactionContextImpl)) {
+                transactionProvider.setRollbackOnly(transactionalTest);
+                return;
+            }
+            ((TransactionContextImpl) transactionContext).activate(testThread);
+            try {
+                transactionProvider.setRollbackOnly(transactionalTest);
+            } finally {
+                transactionContext.deactivate();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+import org.jboss.arquillian.transaction.spi.provider.EnlistmentTrackingTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+/**
+ * Completes the transaction of a test or of a test class through its provider.
+ * <br />
+ * The transaction which should be committed but has done no work is rolled back instead, if the provider tracks
+ * the enlisted resources, see {@link EnlistmentTrackingTransactionProvider}.
+ *
+ * @see TestTransaction
+ * @see ClassTransaction
+ */
+final class TransactionCompletion {
+
+    private TransactionCompletion() {
+        // utility class
+    }
+
+    /**
+     * Commits or rolls back the transaction.
+     *
+     * @param transactionProvider
+     *     the provider which has begun the transaction
+     * @param transactionalTest
+     *     the transactional test used for beginning the transaction
+     * @param rollback
+     *     whether the transaction has to be rolled back
+     *
+     * @return the outcome of the transaction
+     */
+    static TransactionOutcome complete(TransactionProvider transactionProvider, TransactionalTest transactionalTest,
+        boolean rollback) {
+        if (rollback) {
+            transactionProvider.rollbackTransaction(transactionalTest);
+            return TransactionOutcome.ROLLED_BACK;
+        }
+        if (isEmpty(transactionProvider, transactionalTest)) {
+            transactionProvider.rollbackTransaction(transactionalTest);
+            return TransactionOutcome.ELIDED;
+        }
+        transactionProvider.commitTransaction(transactionalTest);
+        return TransactionOutcome.COMMITTED;
+    }
+
+    /**
+     * Returns whether the transaction to be committed has done no work, so it can be rolled back instead.
+     *
+     * @param transactionProvider
+     *     the transaction provider
+     * @param transactionalTest
+     *     the transactional test
+     *
+     * @return true if the provider tracks the enlisted resources and none has been enlisted, false otherwise
+     */
+    private static boolean isEmpty(TransactionProvider transactionProvider, TransactionalTest transactionalTest) {
+        return transactionProvider instanceof EnlistmentTrackingTransactionProvider
+            && !((EnlistmentTrackingTransactionProvider) transactionProvider).hasEnlistedResources(transactionalTest);
+    }
+}
@@ -17,9 +17,12 @@
 package org.jboss.arquillian.transaction.impl.lifecycle;
 
 import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.transaction.spi.provider.OrderedTransactionEnabler;
 import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -36,11 +39,36 @@ public class TransactionEnablerLoader {
     /**
      * Finds custom implementations of {@link TransactionEnabler} SPI
      * including the default one which will be first on the list.
+     * Custom implementations are ordered by their precedence, see {@link OrderedTransactionEnabler}.
      */
     public List<TransactionEnabler> getTransactionEnablers() {
+        List<TransactionEnabler> customEnablers =
+            new ArrayList<TransactionEnabler>(serviceLoader.all(TransactionEnabler.class));
+        Collections.sort(customEnablers, new PrecedenceComparator());
+
         List<TransactionEnabler> transactionEnablers = new ArrayList<TransactionEnabler>();
         transactionEnablers.add(new AnnotationBasedTransactionEnabler());
-        transactionEnablers.addAll(serviceLoader.all(TransactionEnabler.class));
+        transactionEnablers.addAll(customEnablers);
         return transactionEnablers;
     }
+
+    private static int getPrecedence(TransactionEnabler transactionEnabler) {
+        if (transactionEnabler instanceof OrderedTransactionEnabler) {
+            return ((OrderedTransactionEnabler) transactionEnabler).getPrecedence();
+        }
+        return 0;
+    }
+
+    /**
+     * Orders the enablers from the highest precedence to the lowest one.
+     */
+    private static class PrecedenceComparator implements Comparator<TransactionEnabler> {
+
+        @Override
+        public int compare(TransactionEnabler first, TransactionEnabler second) {
+            final int firstPrecedence = getPrecedence(first);
+            final int secondPrecedence = getPrecedence(second);
+            return firstPrecedence < secondPrecedence ? 1 : (firstPrecedence == secondPrecedence ? 0 : -1);
+        }
+    }
 }
@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the ordered chain of {@link TransactionEnabler}s loaded once for the whole test suite.
+ *
+ * @see TransactionEnablerLoader
+ * @see TransactionEnablerRegistryProducer
+ */
+public class TransactionEnablerRegistry {
+
+    private final List<TransactionEnabler> transactionEnablers;
+
+    /**
+     * Creates new instance of {@link TransactionEnablerRegistry} class.
+     *
+     * @param transactionEnablers
+     *     the enablers in the order in which they should be consulted
+     */
+    public TransactionEnablerRegistry(List<TransactionEnabler> transactionEnablers) {
+        this.transactionEnablers =
+            Collections.unmodifiableList(new ArrayList<TransactionEnabler>(transactionEnablers));
+    }
+
+    /**
+     * Retrieves the enablers in the order in which they should be consulted.
+     *
+     * @return the unmodifiable list of enablers
+     */
+    public List<TransactionEnabler> getTransactionEnablers() {
+        return transactionEnablers;
+    }
+}
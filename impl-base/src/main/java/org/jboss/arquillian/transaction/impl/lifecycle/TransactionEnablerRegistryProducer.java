@@ -0,0 +1,52 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+
+/**
+ * Loads the {@link TransactionEnablerRegistry} before the test suite is executed.
+ *
+ * @see TransactionEnablerLoader
+ */
+public class TransactionEnablerRegistryProducer {
+
+    @Inject
+    private Instance<ServiceLoader> serviceLoaderInstance;
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<TransactionEnablerRegistry> transactionEnablerRegistryProducer;
+
+    /**
+     * Builds the registry of the enablers available for the test suite.
+     *
+     * @param beforeSuite
+     *     the event fired before execution of test suite
+     */
+    public void loadTransactionEnablers(@Observes BeforeSuite beforeSuite) {
+        transactionEnablerRegistryProducer.set(new TransactionEnablerRegistry(
+            new TransactionEnablerLoader(serviceLoaderInstance.get()).getTransactionEnablers()));
+    }
+}
@@ -19,24 +19,33 @@ package org.jboss.arquillian.transaction.impl.lifecycle;
 
 import org.jboss.arquillian.core.api.Event;
 import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
 import org.jboss.arquillian.core.spi.EventContext;
 import org.jboss.arquillian.core.spi.ServiceLoader;
 import org.jboss.arquillian.test.spi.TestResult;
-import org.jboss.arquillian.test.spi.TestResult.Status;
+import org.jboss.arquillian.test.spi.annotation.ClassScoped;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
 import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
 import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.ClassEvent;
 import org.jboss.arquillian.test.spi.event.suite.TestEvent;
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
 import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
 import org.jboss.arquillian.transaction.api.annotation.Transactional;
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
-import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
+import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
 import org.jboss.arquillian.transaction.spi.context.TransactionContext;
-import org.jboss.arquillian.transaction.spi.event.*;
-import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
+import org.jboss.arquillian.transaction.spi.event.TransactionEvent;
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+import org.jboss.arquillian.transaction.spi.provider.EnlistmentTrackingTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.LazyTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.PendingTransaction;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
-import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
 
 /**
  * The transaction life cycle handler, which is responsible for initializing new
@@ -48,11 +57,26 @@ import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
  * current context to perform actual operation. If no provider has been found or
  * multiple classes has been registered then
  * {@link TransactionProviderNotFoundException} is being thrown.
+ * <br />
+ * Tests executed in {@link TransactionMode#SAVEPOINT} mode or within {@link TransactionBoundary#CLASS}
+ * boundary share a single {@link ClassTransaction}, which is started on {@link BeforeClass} if the settings are
+ * declared on the test class or otherwise by the first such test. The shared transaction is ended on
+ * {@link AfterClass} or before execution of a test which does not take part in it. Any other test is executed
+ * within its own {@link TestTransaction}.
+ * <br />
+ * If lazy begin is enabled and the provider is a {@link LazyTransactionProvider}, the transaction of a single test
+ * is begun only once the provider asks for it through the {@link PendingTransaction}. Transactions which have done
+ * no work are completed as {@link TransactionOutcome#ELIDED}, see {@link EnlistmentTrackingTransactionProvider}.
+ * <br />
+ * The manager might be given as a comma separated pool of names, in which case every transaction leases one of
+ * them from the {@link TransactionManagerPool} until it ends, so the tests running concurrently use distinct
+ * managers.
  *
  * @author <a href="mailto:bartosz.majsak@gmail.com">Bartosz Majsak</a>
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  * @see Transactional
  * @see TransactionProvider
+ * @see TransactionMetadataResolver
  */
 public abstract class TransactionHandler {
 
@@ -78,21 +102,102 @@ public abstract class TransactionHandler {
     @Inject
     private Instance<TransactionProvider> transactionProviderInstance;
 
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<TransactionMetadataCache> metadataCacheProducer;
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<TransactionEnablerRegistry> transactionEnablerRegistryProducer;
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ResolvedTransactionProvider> resolvedTransactionProviderProducer;
+
+    @Inject
+    @ClassScoped
+    private InstanceProducer<ClassTransaction> classTransactionProducer;
+
+    @Inject
+    @TestScoped
+    private InstanceProducer<TestTransaction> testTransactionProducer;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<PendingTransaction> pendingTransactionProducer;
+
     public abstract boolean isTransactionSupported(TestEvent testEvent);
 
+    /**
+     * Returns whether the transaction spanning the whole test class can be handled by this handler.
+     *
+     * @param classEvent
+     *     the class event
+     *
+     * @return true if the class level transaction is supported, false otherwise
+     */
+    public abstract boolean isClassTransactionSupported(ClassEvent classEvent);
+
+    public void startTransactionBeforeClass(@Observes(precedence = -10) BeforeClass beforeClass) {
+
+        if (!isClassTransactionSupported(beforeClass)) {
+            return;
+        }
+
+        final Class<?> testClass = beforeClass.getTestClass().getJavaClass();
+        final TransactionMetadata transactionMetadata = getMetadataResolver().resolve(testClass);
+        if (transactionMetadata == null) {
+            return;
+        }
+
+        final TransactionProvider transactionProvider = ResolvedTransactionProvider
+            .getOrResolve(resolvedTransactionProviderProducer, serviceLoaderInstance.get())
+            .getTransactionProvider();
+        if (ClassTransaction.isRequired(transactionMetadata, transactionProvider)) {
+            startClassTransaction(testClass, transactionProvider, transactionMetadata);
+        }
+    }
+
+    public void endTransactionAfterClass(@Observes(precedence = 10) AfterClass afterClass) {
+        endClassTransaction();
+    }
+
     public void startTransactionBeforeTest(@Observes(precedence = 10) Before beforeTest) {
 
-        if (isTransactionEnabled(beforeTest)) {
+        if (!isTransactionSupported(beforeTest)) {
+            return;
+        }
+
+        final Class<?> testClass = beforeTest.getTestClass().getJavaClass();
+        final TransactionMetadata transactionMetadata = getTransactionMetadata(beforeTest);
+        if (ClassTransaction.isRequired(transactionMetadata, transactionProviderInstance.get())) {
+            joinClassTransaction(testClass, transactionMetadata);
+            return;
+        }
 
-            TransactionContext transactionContext = transactionContextInstance.get();
-            transactionContext.activate();
+        // the test does not take part in the transaction shared by the test class
+        endClassTransaction();
 
-            lifecycleEvent.fire(new BeforeTransactionStarted());
+        if (transactionMetadata.isTransactionEnabled()) {
 
-            transactionProviderInstance.get()
-                .beginTransaction(new DefaultTransactionalTest(getTransactionManager(beforeTest)));
+            final TransactionManagerPool.Lease managerLease = leaseManager(transactionMetadata.getManager());
 
-            lifecycleEvent.fire(new AfterTransactionStarted());
+            transactionContextInstance.get().activate();
+
+            final TestTransaction testTransaction =
+                createTestTransaction(beforeTest, transactionMetadata, managerLease);
+            testTransactionProducer.set(testTransaction);
+            if (isLazyBeginEnabled()) {
+                testTransaction.defer();
+                pendingTransactionProducer.set(testTransaction);
+            } else {
+                try {
+                    testTransaction.begin();
+                } catch (RuntimeException e) {
+                    testTransaction.releaseManager();
+                    throw e;
+                }
+            }
         }
     }
 
@@ -107,45 +212,93 @@ public abstract class TransactionHandler {
     // -- Private methods
 
     private void endTransaction(After afterTest) {
-        if (isTransactionEnabled(afterTest)) {
-            try {
-                lifecycleEvent.fire(new BeforeTransactionEnded());
-
-                final TransactionProvider transactionProvider = transactionProviderInstance.get();
-                final TransactionalTest transactionalTest =
-                    new DefaultTransactionalTest(getTransactionManager(afterTest));
-
-                if (rollbackRequired(afterTest)) {
-                    transactionProvider.rollbackTransaction(transactionalTest);
-                } else {
-                    transactionProvider.commitTransaction(transactionalTest);
-                }
-            } finally {
-                lifecycleEvent.fire(new AfterTransactionEnded());
-                transactionContextInstance.get().destroy();
+        if (!isTransactionSupported(afterTest)) {
+            return;
+        }
+
+        final TransactionMetadata transactionMetadata = getTransactionMetadata(afterTest);
+        if (ClassTransaction.isRequired(transactionMetadata, transactionProviderInstance.get())) {
+            leaveClassTransaction();
+            return;
+        }
+
+        if (transactionMetadata.isTransactionEnabled()) {
+            TestTransaction testTransaction = testTransactionProducer.get();
+            if (testTransaction == null) {
+                // the begin of the transaction has not been observed, still it is completed through the provider
+                testTransaction = createTestTransaction(afterTest, transactionMetadata, null);
             }
+            testTransaction.end(testRequiresRollbackDueToFailure());
         }
     }
 
+    private TestTransaction createTestTransaction(TestEvent testEvent, TransactionMetadata transactionMetadata,
+        TransactionManagerPool.Lease managerLease) {
+        return new TestTransaction(testEvent.getTestClass().getJavaClass(), testEvent.getTestMethod(),
+            transactionMetadata, managerLease, transactionProviderInstance.get(), transactionContextInstance.get(),
+            lifecycleEvent);
+    }
+
     /**
-     * Returns whether the transaction is enabled for the current test.
+     * Leases the transaction manager, if the manager is given as a pool of names.
      *
-     * @param testEvent
-     *     the test event
+     * @param manager
+     *     the transaction manager name, might be null
+     *
+     * @return the lease or null if no pool is configured
+     */
+    private TransactionManagerPool.Lease leaseManager(String manager) {
+        return TransactionManagerPool.getInstance()
+            .leaseIfPool(manager, configurationInstance.get().getManagerLeaseTimeout());
+    }
+
+    /**
+     * Returns whether the begin of the test transaction should be deferred until its resource is first used.
      *
-     * @return true if the transaction support has been enabled, false otherwise
+     * @return true if lazy begin is enabled and supported by the provider, false otherwise
      */
-    private boolean isTransactionEnabled(TestEvent testEvent) {
-        if (!isTransactionSupported(testEvent)) {
-            return false;
+    private boolean isLazyBeginEnabled() {
+        return configurationInstance.get().isLazyBeginEnabled()
+            && transactionProviderInstance.get() instanceof LazyTransactionProvider;
+    }
+
+    private void joinClassTransaction(Class<?> testClass, TransactionMetadata transactionMetadata) {
+        final ClassTransaction classTransaction = getClassTransaction();
+
+        if (!classTransaction.isActiveFor(transactionMetadata.getManager(), transactionMetadata.getTransactionMode())) {
+            classTransaction.end();
+            startClassTransaction(testClass, transactionProviderInstance.get(), transactionMetadata);
+        }
+        classTransaction.join();
+    }
+
+    private void leaveClassTransaction() {
+        final ClassTransaction classTransaction = classTransactionProducer.get();
+        if (classTransaction != null) {
+            classTransaction.leave(testRequiresRollbackDueToFailure());
         }
+    }
 
-        final TransactionMode transactionMode = getTransactionMode(testEvent);
-        return transactionMode != null && !TransactionMode.DISABLED.equals(transactionMode);
+    private void startClassTransaction(Class<?> testClass, TransactionProvider transactionProvider,
+        TransactionMetadata transactionMetadata) {
+        getClassTransaction().begin(testClass, transactionProvider, transactionMetadata,
+            leaseManager(transactionMetadata.getManager()));
     }
 
-    private boolean rollbackRequired(TestEvent testEvent) {
-        return testRequiresRollbackDueToFailure() || TransactionMode.ROLLBACK.equals(getTransactionMode(testEvent));
+    private void endClassTransaction() {
+        final ClassTransaction classTransaction = classTransactionProducer.get();
+        if (classTransaction != null) {
+            classTransaction.end();
+        }
+    }
+
+    private ClassTransaction getClassTransaction() {
+        ClassTransaction classTransaction = classTransactionProducer.get();
+        if (classTransaction == null) {
+            classTransaction = new ClassTransaction(transactionContextInstance.get(), lifecycleEvent);
+            classTransactionProducer.set(classTransaction);
+        }
+        return classTransaction;
     }
 
     /**
@@ -156,91 +309,51 @@ public abstract class TransactionHandler {
      */
     private boolean testRequiresRollbackDueToFailure() {
         if (testResultInstance.get() != null) {
-            final Status actualStatus = testResultInstance.get().getStatus();
-            return TestResult.Status.FAILED.equals(actualStatus);
+            return TestResult.Status.FAILED.equals(testResultInstance.get().getStatus());
         }
         return true;
     }
 
     /**
-     * Retrieves the transaction mode for the current test.
+     * Retrieves the transaction metadata for the current test. The metadata is resolved only once per test
+     * method and then served from the {@link TransactionMetadataCache}.
      *
      * @param testEvent
      *     the test event
      *
-     * @return the transaction mode
+     * @return the transaction metadata
      */
-    private TransactionMode getTransactionMode(TestEvent testEvent) {
-        TransactionMode result = extractFromTestEvent(testEvent);
-        if (TransactionMode.DEFAULT.equals(result)) {
-            result = configurationInstance.get().getTransactionDefaultMode();
-        }
-        return result;
-    }
-
-    private TransactionMode extractFromTestEvent(TestEvent testEvent) {
-        TransactionMode methodLevel = null;
-        TransactionMode classLevel = null;
-        final TransactionEnablerLoader transactionEnablerLoader =
-            new TransactionEnablerLoader(serviceLoaderInstance.get());
-        for (TransactionEnabler enabler : transactionEnablerLoader.getTransactionEnablers()) {
-            if (methodLevel == null && enabler.isTransactionHandlingDefinedOnMethodLevel(testEvent)) {
-                methodLevel = enabler.getTransactionModeFromMethodLevel(testEvent);
-            }
+    private TransactionMetadata getTransactionMetadata(TestEvent testEvent) {
+        final TransactionMetadataCache metadataCache = getMetadataCache();
+        final Class<?> testClass = testEvent.getTestClass().getJavaClass();
 
-            if (classLevel == null && enabler.isTransactionHandlingDefinedOnClassLevel(testEvent)) {
-                classLevel = enabler.getTransactionModeFromClassLevel(testEvent);
-            }
+        final TransactionMetadata transactionMetadata = metadataCache.get(testClass, testEvent.getTestMethod());
+        if (transactionMetadata != null) {
+            return transactionMetadata;
         }
-        if (methodLevel != null) {
-            return methodLevel;
-        }
-
-        return classLevel;
+        return metadataCache.put(testClass, testEvent.getTestMethod(), getMetadataResolver().resolve(testEvent));
     }
 
-    /**
-     * Retrieves the transaction manager. The default implementation tries to
-     * first retrieve then transaction manager name from the annotation first on
-     * the method level then class. If non of above condition is meet then is
-     * used the manager name provided through configuration.
-     *
-     * @param testEvent
-     *     the test event
-     *
-     * @return the transaction manager name or null if one hasn't been set
-     */
-    private String getTransactionManager(TestEvent testEvent) {
-
-        Transactional transactional;
-        String transactionManager = "";
-
-        // tries to retrieve the name of the manager from annotated test method
-        transactional = testEvent.getTestMethod().getAnnotation(Transactional.class);
-        if (transactional != null) {
-            transactionManager = transactional.manager();
-        }
-
-        // if the transaction manager name hasn't been set then tries to
-        // retrieve it from class level annotation
-        if (transactionManager.length() == 0) {
-            transactional = testEvent.getTestClass().getAnnotation(Transactional.class);
-            if (transactional != null) {
-                transactionManager = transactional.manager();
-            }
-        }
+    private TransactionMetadataResolver getMetadataResolver() {
+        return new TransactionMetadataResolver(configurationInstance.get(), getTransactionEnablerRegistry());
+    }
 
-        if (transactionManager.length() == 0) {
-            transactionManager = obtainTranscationManagerFromConfiguration(transactionManager);
+    private TransactionMetadataCache getMetadataCache() {
+        TransactionMetadataCache metadataCache = metadataCacheProducer.get();
+        if (metadataCache == null) {
+            metadataCache = new TransactionMetadataCache();
+            metadataCacheProducer.set(metadataCache);
         }
-
-        return transactionManager.length() != 0 ? transactionManager : null;
+        return metadataCache;
     }
 
-    private String obtainTranscationManagerFromConfiguration(String transactionManager) {
-        if (configurationInstance.get().getManager() != null) {
-            transactionManager = configurationInstance.get().getManager();
+    private TransactionEnablerRegistry getTransactionEnablerRegistry() {
+        TransactionEnablerRegistry transactionEnablerRegistry = transactionEnablerRegistryProducer.get();
+        if (transactionEnablerRegistry == null) {
+            transactionEnablerRegistry = new TransactionEnablerRegistry(
+                new TransactionEnablerLoader(serviceLoaderInstance.get()).getTransactionEnablers());
+            transactionEnablerRegistryProducer.set(transactionEnablerRegistry);
         }
-        return transactionManager;
+        return transactionEnablerRegistry;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Leases the transaction managers of a pool, defined as a comma separated list of the manager names, to the
+ * tests running concurrently. Each running test holds its own manager, so the tests executed in parallel work
+ * with isolated resources, e.g. a datasource per worker. A test waits if all the managers of the pool are leased,
+ * at most for the configured lease timeout.
+ * <br />
+ * As the {@link TransactionWatchdog}, the pool is held by the class loader of the extension, so it is shared by
+ * all the tests executed in the same JVM.
+ *
+ * @see TransactionHandler
+ */
+final class TransactionManagerPool {
+
+    private static final TransactionManagerPool INSTANCE = new TransactionManagerPool();
+
+    private static final String SEPARATOR = ",";
+
+    private final ConcurrentMap<String, BlockingQueue<String>> pools =
+        new ConcurrentHashMap<String, BlockingQueue<String>>();
+
+    private TransactionManagerPool() {
+        // use getInstance()
+    }
+
+    static TransactionManagerPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns whether the given manager name defines a pool of managers.
+     *
+     * @param manager
+     *     the manager name, might be null
+     *
+     * @return true if the name lists several managers, false otherwise
+     */
+    static boolean isPool(String manager) {
+        return manager != null && manager.contains(SEPARATOR);
+    }
+
+    /**
+     * Leases a manager of the pool, waiting until one is released if all of them are in use.
+     *
+     * @param managers
+     *     the comma separated list of the manager names
+     * @param timeout
+     *     the maximum time to wait in seconds, 0 to wait until a manager is released
+     *
+     * @return the lease, which has to be released once the transaction ends
+     *
+     * @throws RuntimeException
+     *     if no manager has been released in time or the thread has been interrupted while waiting
+     */
+    Lease lease(String managers, int timeout) {
+        try {
+            final BlockingQueue<String> pool = getPool(managers);
+            final String manager = timeout > 0 ? pool.poll(timeout, TimeUnit.SECONDS) : pool.take();
+            if (manager == null) {
+                throw new RuntimeException("No transaction manager of the pool [" + managers + "] has been released "
+                    + "within " + timeout + " seconds. Are the leases released, or is the pool too small for the "
+                    + "tests running concurrently?");
+            }
+            return new Lease(managers, pool, manager);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a transaction manager of [" + managers + "].",
+                e);
+        }
+    }
+
+    /**
+     * Leases a manager if the given name defines a pool of managers.
+     *
+     * @param manager
+     *     the manager name, might be null
+     * @param timeout
+     *     the maximum time to wait in seconds, 0 to wait until a manager is released
+     *
+     * @return the lease or null if the name does not define a pool
+     *
+     * @see #lease(String, int)
+     */
+    Lease leaseIfPool(String manager, int timeout) {
+        return isPool(manager) ? lease(manager, timeout) : null;
+    }
+
+    private BlockingQueue<String> getPool(String managers) {
+        BlockingQueue<String> pool = pools.get(managers);
+        if (pool == null) {
+            // the same managers listed with a different spacing share the pool, e.g. "a, b" and "a,b"
+            final Set<String> names = parse(managers);
+            final String key = toKey(names);
+            final BlockingQueue<String> created = new LinkedBlockingQueue<String>(names);
+            pool = pools.putIfAbsent(key, created);
+            if (pool == null) {
+                pool = created;
+            }
+            if (!key.equals(managers)) {
+                pools.putIfAbsent(managers, pool);
+            }
+        }
+        return pool;
+    }
+
+    private static String toKey(Set<String> names) {
+        final StringBuilder key = new StringBuilder();
+        for (String name : names) {
+            if (key.length() > 0) {
+                key.append(SEPARATOR);
+            }
+            key.append(name);
+        }
+        return key.toString();
+    }
+
+    private static Set<String> parse(String managers) {
+        final Set<String> names = new LinkedHashSet<String>();
+        for (String name : managers.split(SEPARATOR)) {
+            if (name.trim().length() > 0) {
+                names.add(name.trim());
+            }
+        }
+        if (names.isEmpty()) {
+            throw new RuntimeException("The transaction manager pool [" + managers + "] does not name any manager.");
+        }
+        return names;
+    }
+
+    /**
+     * The manager leased by a single transaction.
+     */
+    final class Lease {
+
+        private final String managers;
+
+        private final BlockingQueue<String> pool;
+
+        private final String manager;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(String managers, BlockingQueue<String> pool, String manager) {
+            this.managers = managers;
+            this.pool = pool;
+            this.manager = manager;
+        }
+
+        /**
+         * Retrieves the pool definition the manager has been leased from.
+         *
+         * @return the comma separated list of the manager names
+         */
+        String getManagers() {
+            return managers;
+        }
+
+        String getManager() {
+            return manager;
+        }
+
+        /**
+         * Returns the manager to the pool, subsequent calls have no effect.
+         */
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                pool.offer(manager);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
+import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+/**
+ * Immutable description of the transactional settings resolved for a single test method.
+ * <br />
+ * Instances are created once per test class and method pair and cached in {@link TransactionMetadataCache}.
+ *
+ * @see TransactionHandler
+ */
+public final class TransactionMetadata {
+
+    /**
+     * Represents the resolved transaction mode, never {@link TransactionMode#DEFAULT}.
+     */
+    private final TransactionMode transactionMode;
+
+    /**
+     * Represents the name of the transaction manager.
+     */
+    private final String manager;
+
+    /**
+     * Represents the enabler which defined the transaction mode.
+     */
+    private final TransactionEnabler transactionEnabler;
+
+    /**
+     * Represents the transaction boundary.
+     */
+    private final TransactionBoundary transactionBoundary;
+
+    /**
+     * Represents the transaction timeout in seconds.
+     */
+    private final int timeout;
+
+    /**
+     * Creates new instance of {@link TransactionMetadata} class.
+     *
+     * @param transactionMode
+     *     the resolved transaction mode or null if transaction handling is not defined for the test
+     * @param manager
+     *     the transaction manager name or null if one hasn't been set
+     * @param transactionEnabler
+     *     the enabler which defined the transaction mode or null if none did
+     * @param transactionBoundary
+     *     the transaction boundary
+     * @param timeout
+     *     the transaction timeout in seconds or 0 if none has been set
+     */
+    public TransactionMetadata(TransactionMode transactionMode, String manager,
+        TransactionEnabler transactionEnabler, TransactionBoundary transactionBoundary, int timeout) {
+        this.transactionMode = transactionMode;
+        this.manager = manager;
+        this.transactionEnabler = transactionEnabler;
+        this.transactionBoundary = transactionBoundary;
+        this.timeout = timeout;
+    }
+
+    public TransactionMode getTransactionMode() {
+        return transactionMode;
+    }
+
+    public String getManager() {
+        return manager;
+    }
+
+    public TransactionEnabler getTransactionEnabler() {
+        return transactionEnabler;
+    }
+
+    public TransactionBoundary getTransactionBoundary() {
+        return transactionBoundary;
+    }
+
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns whether the transaction should be started for the test.
+     *
+     * @return true if the mode has been defined and it is not {@link TransactionMode#DISABLED}
+     */
+    public boolean isTransactionEnabled() {
+        return transactionMode != null && !TransactionMode.DISABLED.equals(transactionMode);
+    }
+
+    /**
+     * Creates the copy of this metadata for the given transaction manager, used for the manager leased from a pool.
+     *
+     * @param manager
+     *     the transaction manager name
+     *
+     * @return the transaction metadata
+     */
+    public TransactionMetadata withManager(String manager) {
+        return new TransactionMetadata(transactionMode, manager, transactionEnabler, transactionBoundary, timeout);
+    }
+
+    /**
+     * Creates the {@link TransactionalTest} passed to the transaction provider.
+     *
+     * @param testName
+     *     the name of the test owning the transaction
+     *
+     * @return the transactional test
+     */
+    public TransactionalTest createTransactionalTest(String testName) {
+        return new DefaultTransactionalTest(manager, timeout, TransactionMode.READ_ONLY.equals(transactionMode),
+            testName);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Suite wide cache of the {@link TransactionMetadata} resolved for the executed test methods.
+ * <br />
+ * The cache is stored in the application context, so it is shared by the client side and in-container
+ * transaction handlers.
+ *
+ * @see TransactionHandler
+ */
+public class TransactionMetadataCache {
+
+    private final ConcurrentMap<TestMethodKey, TransactionMetadata> metadata =
+        new ConcurrentHashMap<TestMethodKey, TransactionMetadata>();
+
+    /**
+     * Retrieves the metadata cached for the given test method.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method
+     *
+     * @return the cached metadata or null if it hasn't been resolved yet
+     */
+    public TransactionMetadata get(Class<?> testClass, Method testMethod) {
+        return metadata.get(new TestMethodKey(testClass, testMethod));
+    }
+
+    /**
+     * Caches the metadata for the given test method, unless it has been already cached.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method
+     * @param transactionMetadata
+     *     the resolved metadata
+     *
+     * @return the metadata stored in the cache
+     */
+    public TransactionMetadata put(Class<?> testClass, Method testMethod, TransactionMetadata transactionMetadata) {
+        final TransactionMetadata previous =
+            metadata.putIfAbsent(new TestMethodKey(testClass, testMethod), transactionMetadata);
+        return previous != null ? previous : transactionMetadata;
+    }
+
+    public int size() {
+        return metadata.size();
+    }
+
+    public void clear() {
+        metadata.clear();
+    }
+
+    /**
+     * The test class and method pair. The test class is a part of the key, since the method might be
+     * inherited by test classes with different class level settings.
+     */
+    private static final class TestMethodKey {
+
+        private final Class<?> testClass;
+
+        private final Method testMethod;
+
+        private TestMethodKey(Class<?> testClass, Method testMethod) {
+            this.testClass = testClass;
+            this.testMethod = testMethod;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TestMethodKey)) {
+                return false;
+            }
+            final TestMethodKey that = (TestMethodKey) o;
+            return testClass.equals(that.testClass) && testMethod.equals(that.testMethod);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * testClass.hashCode() + testMethod.hashCode();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.test.spi.event.suite.TestEvent;
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
+
+import java.lang.reflect.Method;
+
+/**
+ * Resolves the {@link TransactionMetadata} of a test from the registered {@link TransactionEnabler}s,
+ * the {@link Transactional} annotations and the extension configuration.
+ *
+ * @see TransactionHandler
+ */
+final class TransactionMetadataResolver {
+
+    private final TransactionConfiguration configuration;
+
+    private final TransactionEnablerRegistry transactionEnablerRegistry;
+
+    /**
+     * Creates new instance of {@link TransactionMetadataResolver} class.
+     *
+     * @param configuration
+     *     the extension configuration
+     * @param transactionEnablerRegistry
+     *     the registry of the enablers available for the test suite
+     */
+    TransactionMetadataResolver(TransactionConfiguration configuration,
+        TransactionEnablerRegistry transactionEnablerRegistry) {
+        this.configuration = configuration;
+        this.transactionEnablerRegistry = transactionEnablerRegistry;
+    }
+
+    /**
+     * Resolves the transaction metadata of a single test method.
+     *
+     * @param testEvent
+     *     the test event
+     *
+     * @return the transaction metadata
+     */
+    TransactionMetadata resolve(TestEvent testEvent) {
+        TransactionMode methodLevel = null;
+        TransactionMode classLevel = null;
+        TransactionEnabler methodLevelEnabler = null;
+        TransactionEnabler classLevelEnabler = null;
+        for (TransactionEnabler enabler : transactionEnablerRegistry.getTransactionEnablers()) {
+            if (enabler.isTransactionHandlingDefinedOnMethodLevel(testEvent)) {
+                methodLevel = enabler.getTransactionModeFromMethodLevel(testEvent);
+                methodLevelEnabler = enabler;
+                // method level takes precedence, so the class level is no longer relevant
+                break;
+            }
+
+            if (classLevel == null && enabler.isTransactionHandlingDefinedOnClassLevel(testEvent)) {
+                classLevel = enabler.getTransactionModeFromClassLevel(testEvent);
+                classLevelEnabler = enabler;
+            }
+        }
+
+        final Class<?> testClass = testEvent.getTestClass().getJavaClass();
+        final Method testMethod = testEvent.getTestMethod();
+        final String manager = getTransactionManager(testClass, testMethod);
+        final int timeout = getTransactionTimeout(testClass, testMethod);
+        if (methodLevel != null) {
+            return new TransactionMetadata(resolveDefaultMode(methodLevel), manager, methodLevelEnabler,
+                TransactionBoundary.TEST, timeout);
+        }
+        return new TransactionMetadata(resolveDefaultMode(classLevel), manager, classLevelEnabler,
+            getTransactionBoundary(testClass), timeout);
+    }
+
+    /**
+     * Resolves the transaction metadata declared on the test class, used for the transaction spanning the whole
+     * test class.
+     *
+     * @param testClass
+     *     the test class
+     *
+     * @return the transaction metadata or null if the test class is not annotated with {@link Transactional}
+     */
+    TransactionMetadata resolve(Class<?> testClass) {
+        final Transactional transactional = TransactionalIndex.getInstance().getTransactional(testClass);
+        if (transactional == null) {
+            return null;
+        }
+        return new TransactionMetadata(resolveDefaultMode(transactional.value()),
+            getTransactionManager(testClass, null), null, transactional.scope(),
+            getTransactionTimeout(testClass, null));
+    }
+
+    /**
+     * Retrieves the transaction timeout, defined either on the method level, on the class level or through
+     * configuration.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method or null if the timeout is resolved for the whole test class
+     *
+     * @return the timeout in seconds or 0 if none has been set
+     */
+    private int getTransactionTimeout(Class<?> testClass, Method testMethod) {
+        if (testMethod != null) {
+            final Transactional transactional = TransactionalIndex.getInstance().getTransactional(testMethod);
+            if (transactional != null && transactional.timeout() > 0) {
+                return transactional.timeout();
+            }
+        }
+
+        final Transactional transactional = TransactionalIndex.getInstance().getTransactional(testClass);
+        if (transactional != null && transactional.timeout() > 0) {
+            return transactional.timeout();
+        }
+        return configuration.getTransactionTimeout();
+    }
+
+    /**
+     * Retrieves the transaction boundary, which might be only defined on the class level.
+     *
+     * @param testClass
+     *     the test class
+     *
+     * @return the transaction boundary
+     */
+    private TransactionBoundary getTransactionBoundary(Class<?> testClass) {
+        final Transactional transactional = TransactionalIndex.getInstance().getTransactional(testClass);
+        return transactional != null ? transactional.scope() : TransactionBoundary.TEST;
+    }
+
+    private TransactionMode resolveDefaultMode(TransactionMode transactionMode) {
+        if (TransactionMode.DEFAULT.equals(transactionMode)) {
+            return configuration.getTransactionDefaultMode();
+        }
+        return transactionMode;
+    }
+
+    /**
+     * Retrieves the transaction manager. The default implementation tries to
+     * first retrieve then transaction manager name from the annotation first on
+     * the method level then class. If non of above condition is meet then is
+     * used the manager name provided through configuration.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method or null if the manager is resolved for the whole test class
+     *
+     * @return the transaction manager name or null if one hasn't been set
+     */
+    private String getTransactionManager(Class<?> testClass, Method testMethod) {
+
+        Transactional transactional;
+        String transactionManager = "";
+
+        // tries to retrieve the name of the manager from annotated test method
+        if (testMethod != null) {
+            transactional = TransactionalIndex.getInstance().getTransactional(testMethod);
+            if (transactional != null) {
+                transactionManager = transactional.manager();
+            }
+        }
+
+        // if the transaction manager name hasn't been set then tries to
+        // retrieve it from class level annotation
+        if (transactionManager.length() == 0) {
+            transactional = TransactionalIndex.getInstance().getTransactional(testClass);
+            if (transactional != null) {
+                transactionManager = transactional.manager();
+            }
+        }
+
+        if (transactionManager.length() == 0) {
+            transactionManager = obtainTranscationManagerFromConfiguration(transactionManager);
+        }
+
+        return transactionManager.length() != 0 ? transactionManager : null;
+    }
+
+    private String obtainTranscationManagerFromConfiguration(String transactionManager) {
+        if (configuration.getManager() != null) {
+            transactionManager = configuration.getManager();
+        }
+        return transactionManager;
+    }
+}
@@ -4,11 +4,13 @@ import org.jboss.arquillian.container.spi.Container;
 import org.jboss.arquillian.container.spi.client.deployment.Deployment;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
 import org.jboss.arquillian.core.api.annotation.Inject;
 import org.jboss.arquillian.core.api.annotation.Observes;
 import org.jboss.arquillian.core.spi.ServiceLoader;
 import org.jboss.arquillian.test.spi.annotation.TestScoped;
 import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
 import org.jboss.arquillian.test.spi.event.suite.TestEvent;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
 
@@ -23,31 +25,41 @@ public class TransactionProviderProducer {
     @Inject
     private Instance<Container> containerInstance;
 
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<ResolvedTransactionProvider> resolvedTransactionProviderProducer;
+
     @Inject
     @TestScoped
     private InstanceProducer<TransactionProvider> transactionProviderProducer;
 
     /**
-     * Retrieves the {@link TransactionProvider} registered in current context.
+     * Looks up the {@link TransactionProvider} once for the whole test suite.
      *
-     * @throws TransactionProviderNotFoundException
-     *     if no provider could be found or there are multiple providers registered.
+     * @param beforeSuite
+     *     the event fired before execution of test suite
      */
+    public void resolveTransactionProvider(@Observes(precedence = 100) BeforeSuite beforeSuite) {
+        resolvedTransactionProviderProducer.set(ResolvedTransactionProvider.resolve(serviceLoaderInstance.get()));
+    }
 
+    /**
+     * Registers the {@link TransactionProvider} resolved for the test suite in the current test context.
+     *
+     * @throws TransactionProviderNotFoundException
+     *     if there are multiple providers registered.
+     */
     public void registerTransactionProvider(@Observes(precedence = 100) Before beforeTest) {
         if (!isTransactionSupported(beforeTest)) {
             return;
         }
-        try {
-            final TransactionProvider transactionProvider =
-                serviceLoaderInstance.get().onlyOne(TransactionProvider.class);
-            if (transactionProvider == null) {
-                return;
-            }
-            transactionProviderProducer.set(transactionProvider);
-        } catch (IllegalStateException e) {
-            throw new TransactionProviderNotFoundException("More then one transaction provider has been specified.", e);
+        final TransactionProvider transactionProvider = ResolvedTransactionProvider
+            .getOrResolve(resolvedTransactionProviderProducer, serviceLoaderInstance.get())
+            .getTransactionProvider();
+        if (transactionProvider == null) {
+            return;
         }
+        transactionProviderProducer.set(transactionProvider);
     }
 
     private boolean isTransactionSupported(TestEvent testEvent) {
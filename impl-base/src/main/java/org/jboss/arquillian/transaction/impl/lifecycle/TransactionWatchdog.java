@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Watches the transactions having a timeout and marks the ones exceeding it as rollback only, through
+ * {@link org.jboss.arquillian.transaction.spi.provider.TransactionProvider#setRollbackOnly}.
+ * <br />
+ * The watchdog runs on a single daemon thread next to the transaction handler, so it works the same way for the
+ * tests executed on the client side and in the container. It is held by the class loader of the extension,
+ * since in-container test runs bootstrap Arquillian for every executed test. The thread is started by the first
+ * watched transaction and stopped by {@link TransactionWatchdogTerminator} once the suite ends, respectively
+ * once the in-container run of the test ends, so it does not pin the class loader.
+ * <br />
+ * The expiry action and the cancellation of the deadline exclude each other, so the action never runs once the
+ * transaction has been completed and its context destroyed.
+ *
+ * @see TransactionHandler
+ */
+final class TransactionWatchdog {
+
+    private static final Logger LOGGER = Logger.getLogger(TransactionWatchdog.class.getName());
+
+    private static final TransactionWatchdog INSTANCE = new TransactionWatchdog();
+
+    private ScheduledThreadPoolExecutor executor;
+
+    private TransactionWatchdog() {
+        // use getInstance()
+    }
+
+    static TransactionWatchdog getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts watching the transaction.
+     *
+     * @param timeout
+     *     the transaction timeout
+     * @param unit
+     *     the unit of the timeout
+     * @param expiryAction
+     *     the action executed by the watchdog thread once the timeout is exceeded
+     *
+     * @return the deadline of the transaction, which has to be cancelled once the transaction ends
+     */
+    synchronized TransactionDeadline watch(long timeout, TimeUnit unit, final Runnable expiryAction) {
+        if (executor == null) {
+            executor = new ScheduledThreadPoolExecutor(1, new WatchdogThreadFactory());
+            executor.setRemoveOnCancelPolicy(true);
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        }
+        final TransactionDeadline deadline = new TransactionDeadline();
+        deadline.future = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                deadline.expire(expiryAction);
+            }
+        }, timeout, unit);
+        return deadline;
+    }
+
+    /**
+     * Stops the watchdog thread, the deadlines which are still watched never expire. The thread is started again
+     * by the next watched transaction.
+     */
+    synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private static final class WatchdogThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "arquillian-transaction-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * The deadline of a single watched transaction.
+     */
+    static final class TransactionDeadline {
+
+        private volatile boolean expired;
+
+        private volatile ScheduledFuture<?> future;
+
+        private boolean cancelled;
+
+        /**
+         * Stops watching the transaction. Once it returns, the expiry action has either completed or it never runs.
+         */
+        void cancel() {
+            synchronized (this) {
+                cancelled = true;
+            }
+            future.cancel(false);
+        }
+
+        private synchronized void expire(Runnable expiryAction) {
+            if (cancelled) {
+                return;
+            }
+            expired = true;
+            try {
+                expiryAction.run();
+            } catch (RuntimeException e) {
+                // the transaction is rolled back anyway once the test ends
+                LOGGER.log(Level.WARNING, "Unable to mark the expired transaction rollback only.", e);
+            }
+        }
+
+        /**
+         * Returns whether the transaction has exceeded its timeout, so it is rollback only.
+         *
+         * @return true if the timeout has been exceeded, false otherwise
+         */
+        boolean isExpired() {
+            return expired;
+        }
+    }
+}
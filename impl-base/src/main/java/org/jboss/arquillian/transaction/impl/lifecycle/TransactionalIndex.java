@@ -0,0 +1,227 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Resolves the {@link Transactional} settings of the test classes and methods from the index written at compile
+ * time by the {@code arquillian-transaction-processor} annotation processor. The settings of the classes which have
+ * not been indexed are resolved through reflection.
+ * <br />
+ * The index is loaded once per class loader of the test classes.
+ */
+public final class TransactionalIndex {
+
+    /**
+     * The location of the index, see {@code TransactionalIndexProcessor#INDEX_LOCATION}.
+     */
+    static final String INDEX_LOCATION = "META-INF/arquillian-transaction/transactional.index";
+
+    private static final String SEPARATOR = "\t";
+
+    private static final TransactionalIndex INSTANCE = new TransactionalIndex();
+
+    private final Map<ClassLoader, Map<String, IndexedClass>> indexes =
+        new WeakHashMap<ClassLoader, Map<String, IndexedClass>>();
+
+    private TransactionalIndex() {
+        // use getInstance()
+    }
+
+    public static TransactionalIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieves the settings of the test class, either declared on the class or inherited from its superclasses.
+     *
+     * @param testClass
+     *     the test class
+     *
+     * @return the settings or null if the class is not transactional
+     */
+    public Transactional getTransactional(Class<?> testClass) {
+        final IndexedClass indexedClass = getIndexedClass(testClass);
+        if (indexedClass == null) {
+            return testClass.getAnnotation(Transactional.class);
+        }
+        return indexedClass.transactional;
+    }
+
+    /**
+     * Retrieves the settings declared on the test method.
+     *
+     * @param testMethod
+     *     the test method
+     *
+     * @return the settings or null if the method is not transactional
+     */
+    public Transactional getTransactional(Method testMethod) {
+        final IndexedClass indexedClass = getIndexedClass(testMethod.getDeclaringClass());
+        if (indexedClass == null) {
+            return testMethod.getAnnotation(Transactional.class);
+        }
+        return indexedClass.methods.get(getSignature(testMethod));
+    }
+
+    private IndexedClass getIndexedClass(Class<?> type) {
+        final ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+
+        Map<String, IndexedClass> index;
+        synchronized (indexes) {
+            index = indexes.get(classLoader);
+            if (index == null) {
+                index = loadIndex(classLoader);
+                indexes.put(classLoader, index);
+            }
+        }
+        return index.get(type.getName());
+    }
+
+    private static Map<String, IndexedClass> loadIndex(ClassLoader classLoader) {
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(INDEX_LOCATION);
+            if (!resources.hasMoreElements()) {
+                return Collections.emptyMap();
+            }
+
+            final Map<String, IndexedClass> index = new HashMap<String, IndexedClass>();
+            while (resources.hasMoreElements()) {
+                readIndex(resources.nextElement(), index);
+            }
+            return index;
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to read the transactional index.", e);
+        }
+    }
+
+    private static void readIndex(URL resource, Map<String, IndexedClass> index) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), "UTF-8"));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String[] entry = line.split(SEPARATOR, -1);
+                if ("class".equals(entry[0])) {
+                    getOrCreate(index, entry[1]).transactional = entry.length > 3 ? parse(entry, 2) : null;
+                } else if ("method".equals(entry[0])) {
+                    getOrCreate(index, entry[1]).methods.put(entry[2], parse(entry, 3));
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static IndexedClass getOrCreate(Map<String, IndexedClass> index, String className) {
+        IndexedClass indexedClass = index.get(className);
+        if (indexedClass == null) {
+            indexedClass = new IndexedClass();
+            index.put(className, indexedClass);
+        }
+        return indexedClass;
+    }
+
+    private static Transactional parse(String[] entry, int offset) {
+        return new IndexedTransactional(TransactionMode.valueOf(entry[offset]), entry[offset + 1],
+            TransactionBoundary.valueOf(entry[offset + 2]), Integer.parseInt(entry[offset + 3]));
+    }
+
+    private static String getSignature(Method method) {
+        final StringBuilder signature = new StringBuilder(method.getName()).append('(');
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(parameterTypes[i].getTypeName());
+        }
+        return signature.append(')').toString();
+    }
+
+    private static final class IndexedClass {
+
+        private Transactional transactional;
+
+        private final Map<String, Transactional> methods = new HashMap<String, Transactional>();
+    }
+
+    /**
+     * The {@link Transactional} settings read from the index.
+     */
+    private static final class IndexedTransactional implements Transactional {
+
+        private final TransactionMode value;
+
+        private final String manager;
+
+        private final TransactionBoundary scope;
+
+        private final int timeout;
+
+        private IndexedTransactional(TransactionMode value, String manager, TransactionBoundary scope,
+            int timeout) {
+            this.value = value;
+            this.manager = manager;
+            this.scope = scope;
+            this.timeout = timeout;
+        }
+
+        @Override
+        public TransactionMode value() {
+            return value;
+        }
+
+        @Override
+        public String manager() {
+            return manager;
+        }
+
+        @Override
+        public TransactionBoundary scope() {
+            return scope;
+        }
+
+        @Override
+        public int timeout() {
+            return timeout;
+        }
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Transactional.class;
+        }
+    }
+}
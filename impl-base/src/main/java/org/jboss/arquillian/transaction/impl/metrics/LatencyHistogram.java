@@ -0,0 +1,155 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.metrics;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe histogram of latencies in nanoseconds, which uses power of two buckets. The bucket
+ * {@code i} counts the latencies between {@code 2^(i-1)} and {@code 2^i - 1} nanoseconds, so the
+ * reported percentiles are accurate to a factor of two.
+ */
+public class LatencyHistogram implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records the latency.
+     *
+     * @param nanos
+     *     the latency in nanoseconds, negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        final long latency = Math.max(nanos, 0L);
+
+        buckets.incrementAndGet(getBucketIndex(latency));
+        count.incrementAndGet();
+        total.addAndGet(latency);
+        updateMax(latency);
+    }
+
+    /**
+     * Adds all the latencies recorded by the given histogram.
+     *
+     * @param histogram
+     *     the histogram to merge
+     */
+    public void merge(LatencyHistogram histogram) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.addAndGet(i, histogram.buckets.get(i));
+        }
+        count.addAndGet(histogram.getCount());
+        total.addAndGet(histogram.getTotal());
+        updateMax(histogram.getMax());
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getMean() {
+        final long currentCount = count.get();
+        return currentCount != 0 ? total.get() / currentCount : 0L;
+    }
+
+    /**
+     * Retrieves the upper bound of the bucket, which contains the given percentile.
+     *
+     * @param percentile
+     *     the percentile, between 0 and 100
+     *
+     * @return the latency in nanoseconds or 0 if nothing has been recorded
+     */
+    public long getPercentile(double percentile) {
+        final long[] snapshot = getBuckets();
+
+        long recorded = 0L;
+        for (long bucket : snapshot) {
+            recorded += bucket;
+        }
+        if (recorded == 0L) {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(recorded * percentile / 100.0));
+        long cumulative = 0L;
+        for (int i = 0; i < snapshot.length; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank) {
+                return Math.min(getBucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Retrieves the snapshot of the bucket counts.
+     *
+     * @return the bucket counts
+     */
+    public long[] getBuckets() {
+        final long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Retrieves the highest latency counted by the given bucket.
+     *
+     * @param index
+     *     the bucket index
+     *
+     * @return the latency in nanoseconds
+     */
+    public static long getBucketUpperBound(int index) {
+        return index >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << index) - 1;
+    }
+
+    private void updateMax(long latency) {
+        long currentMax = max.get();
+        while (latency > currentMax && !max.compareAndSet(currentMax, latency)) {
+            currentMax = max.get();
+        }
+    }
+
+    private static int getBucketIndex(long nanos) {
+        return Math.min(BUCKET_COUNT - Long.numberOfLeadingZeros(nanos), BUCKET_COUNT - 1);
+    }
+}
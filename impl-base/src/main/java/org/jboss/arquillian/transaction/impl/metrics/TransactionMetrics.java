@@ -0,0 +1,179 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.metrics;
+
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Suite wide aggregation of the transaction operation latencies, per test and per test class.
+ * <br />
+ * Tests are identified by the test class name and the method name separated with {@code #}. Transactions
+ * spanning the whole test class are only accounted to the test class.
+ * <br />
+ * The metrics are serializable, so the ones collected in the container can be merged into the client side ones.
+ *
+ * @see TransactionMetricsObserver
+ */
+public class TransactionMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ConcurrentMap<String, TransactionTimings> testTimings =
+        new ConcurrentHashMap<String, TransactionTimings>();
+
+    private final ConcurrentMap<String, TransactionTimings> classTimings =
+        new ConcurrentHashMap<String, TransactionTimings>();
+
+    /**
+     * Records the duration of the transaction begin.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method or null for the class level transaction
+     * @param nanos
+     *     the duration in nanoseconds
+     */
+    public void recordBegin(Class<?> testClass, Method testMethod, long nanos) {
+        getClassTimings(testClass).getBegin().record(nanos);
+        if (testMethod != null) {
+            getTestTimings(testClass, testMethod).getBegin().record(nanos);
+        }
+    }
+
+    /**
+     * Records the duration of the transaction completion.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method or null for the class level transaction
+     * @param outcome
+     *     the transaction outcome, failed completions are not recorded
+     * @param nanos
+     *     the duration in nanoseconds
+     */
+    public void recordEnd(Class<?> testClass, Method testMethod, TransactionOutcome outcome, long nanos) {
+        if (TransactionOutcome.COMMITTED.equals(outcome)) {
+            getClassTimings(testClass).getCommit().record(nanos);
+            if (testMethod != null) {
+                getTestTimings(testClass, testMethod).getCommit().record(nanos);
+            }
+        } else if (TransactionOutcome.ROLLED_BACK.equals(outcome)) {
+            getClassTimings(testClass).getRollback().record(nanos);
+            if (testMethod != null) {
+                getTestTimings(testClass, testMethod).getRollback().record(nanos);
+            }
+        } else if (TransactionOutcome.ELIDED.equals(outcome)) {
+            getClassTimings(testClass).getElided().record(nanos);
+            if (testMethod != null) {
+                getTestTimings(testClass, testMethod).getElided().record(nanos);
+            }
+        }
+    }
+
+    /**
+     * Adds all the latencies recorded by the given metrics.
+     *
+     * @param transactionMetrics
+     *     the metrics to merge
+     */
+    public void merge(TransactionMetrics transactionMetrics) {
+        for (Map.Entry<String, TransactionTimings> entry : transactionMetrics.testTimings.entrySet()) {
+            getTimings(testTimings, entry.getKey()).merge(entry.getValue());
+        }
+        for (Map.Entry<String, TransactionTimings> entry : transactionMetrics.classTimings.entrySet()) {
+            getTimings(classTimings, entry.getKey()).merge(entry.getValue());
+        }
+    }
+
+    /**
+     * Retrieves the number of the transactions, which have done no work and have been completed through
+     * the cheapest path.
+     *
+     * @return the number of the elided transactions
+     */
+    public long getElidedCount() {
+        long elidedCount = 0L;
+        for (TransactionTimings timings : classTimings.values()) {
+            elidedCount += timings.getElided().getCount();
+        }
+        return elidedCount;
+    }
+
+    public boolean isEmpty() {
+        return classTimings.isEmpty();
+    }
+
+    public Map<String, TransactionTimings> getTestTimings() {
+        return Collections.unmodifiableMap(testTimings);
+    }
+
+    public Map<String, TransactionTimings> getClassTimings() {
+        return Collections.unmodifiableMap(classTimings);
+    }
+
+    /**
+     * Returns the metrics stored by the given producer, creating and storing new ones first if needed.
+     *
+     * @param producer
+     *     the application scoped producer
+     *
+     * @return the metrics
+     */
+    public static TransactionMetrics getOrCreate(InstanceProducer<TransactionMetrics> producer) {
+        TransactionMetrics transactionMetrics = producer.get();
+        if (transactionMetrics == null) {
+            transactionMetrics = new TransactionMetrics();
+            producer.set(transactionMetrics);
+        }
+        return transactionMetrics;
+    }
+
+    public static String getTestName(Class<?> testClass, Method testMethod) {
+        return testClass.getName() + "#" + testMethod.getName();
+    }
+
+    private TransactionTimings getTestTimings(Class<?> testClass, Method testMethod) {
+        return getTimings(testTimings, getTestName(testClass, testMethod));
+    }
+
+    private TransactionTimings getClassTimings(Class<?> testClass) {
+        return getTimings(classTimings, testClass.getName());
+    }
+
+    private static TransactionTimings getTimings(ConcurrentMap<String, TransactionTimings> timings, String name) {
+        TransactionTimings transactionTimings = timings.get(name);
+        if (transactionTimings == null) {
+            final TransactionTimings created = new TransactionTimings();
+            transactionTimings = timings.putIfAbsent(name, created);
+            if (transactionTimings == null) {
+                transactionTimings = created;
+            }
+        }
+        return transactionTimings;
+    }
+}
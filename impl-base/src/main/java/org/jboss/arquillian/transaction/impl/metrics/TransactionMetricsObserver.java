@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.metrics;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.TransactionEvent;
+
+/**
+ * Aggregates the durations of the transaction begin and completion into {@link TransactionMetrics}, based on
+ * the timestamps of the transaction life cycle events.
+ * <br />
+ * Events which do not identify the test class are ignored.
+ *
+ * @see TransactionMetrics
+ */
+public class TransactionMetricsObserver {
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<TransactionMetrics> transactionMetricsProducer;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<TransactionStopwatch> transactionStopwatchProducer;
+
+    @Inject
+    private Instance<TransactionContext> transactionContextInstance;
+
+    public void transactionStarting(@Observes BeforeTransactionStarted event) {
+        final TransactionStopwatch transactionStopwatch = getTransactionStopwatch(event);
+        if (transactionStopwatch != null) {
+            transactionStopwatch.setBeginTimestamp(event.getTimestamp());
+        }
+    }
+
+    public void transactionStarted(@Observes AfterTransactionStarted event) {
+        final TransactionStopwatch transactionStopwatch = getTransactionStopwatch(event);
+        if (transactionStopwatch != null && transactionStopwatch.getBeginTimestamp() != 0L) {
+            TransactionMetrics.getOrCreate(transactionMetricsProducer).recordBegin(event.getTestClass(),
+                event.getTestMethod(), event.getTimestamp() - transactionStopwatch.getBeginTimestamp());
+        }
+    }
+
+    public void transactionEnding(@Observes BeforeTransactionEnded event) {
+        final TransactionStopwatch transactionStopwatch = getTransactionStopwatch(event);
+        if (transactionStopwatch != null) {
+            transactionStopwatch.setEndTimestamp(event.getTimestamp());
+        }
+    }
+
+    public void transactionEnded(@Observes AfterTransactionEnded event) {
+        final TransactionStopwatch transactionStopwatch = getTransactionStopwatch(event);
+        if (transactionStopwatch != null && transactionStopwatch.getEndTimestamp() != 0L) {
+            TransactionMetrics.getOrCreate(transactionMetricsProducer).recordEnd(event.getTestClass(),
+                event.getTestMethod(), event.getOutcome(),
+                event.getTimestamp() - transactionStopwatch.getEndTimestamp());
+        }
+    }
+
+    private TransactionStopwatch getTransactionStopwatch(TransactionEvent event) {
+        final TransactionContext transactionContext = transactionContextInstance.get();
+        if (event.getTestClass() == null || transactionContext == null || !transactionContext.isActive()) {
+            return null;
+        }
+
+        TransactionStopwatch transactionStopwatch = transactionStopwatchProducer.get();
+        if (transactionStopwatch == null) {
+            transactionStopwatch = new TransactionStopwatch();
+            transactionStopwatchProducer.set(transactionStopwatch);
+        }
+        return transactionStopwatch;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.metrics;
+
+import java.io.Serializable;
+
+/**
+ * Latencies of the transaction operations performed for a single test or test class.
+ */
+public class TransactionTimings implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LatencyHistogram begin = new LatencyHistogram();
+
+    private final LatencyHistogram commit = new LatencyHistogram();
+
+    private final LatencyHistogram rollback = new LatencyHistogram();
+
+    private final LatencyHistogram elided = new LatencyHistogram();
+
+    public LatencyHistogram getBegin() {
+        return begin;
+    }
+
+    public LatencyHistogram getCommit() {
+        return commit;
+    }
+
+    public LatencyHistogram getRollback() {
+        return rollback;
+    }
+
+    public LatencyHistogram getElided() {
+        return elided;
+    }
+
+    /**
+     * Adds all the latencies recorded by the given timings.
+     *
+     * @param timings
+     *     the timings to merge
+     */
+    public void merge(TransactionTimings timings) {
+        begin.merge(timings.getBegin());
+        commit.merge(timings.getCommit());
+        rollback.merge(timings.getRollback());
+        elided.merge(timings.getElided());
+    }
+
+    /**
+     * Retrieves the number of the completed transactions.
+     *
+     * @return the number of commits, rollbacks and elided completions
+     */
+    public long getCompleted() {
+        return commit.getCount() + rollback.getCount() + elided.getCount();
+    }
+
+    /**
+     * Retrieves the time spent in all the recorded transaction operations.
+     *
+     * @return the total time in nanoseconds
+     */
+    public long getTotal() {
+        return begin.getTotal() + commit.getTotal() + rollback.getTotal() + elided.getTotal();
+    }
+}
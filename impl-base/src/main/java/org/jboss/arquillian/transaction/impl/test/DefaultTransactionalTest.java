@@ -31,6 +31,21 @@ public class DefaultTransactionalTest implements TransactionalTest {
      */
     private String manager;
 
+    /**
+     * Represents the transaction timeout in seconds.
+     */
+    private int timeout;
+
+    /**
+     * Represents whether the transaction is read only.
+     */
+    private boolean readOnly;
+
+    /**
+     * Represents the name of the test owning the transaction.
+     */
+    private String testName;
+
     /**
      * Creates new instance of {@link DefaultTransactionalTest} class.
      *
@@ -39,7 +54,55 @@ public class DefaultTransactionalTest implements TransactionalTest {
      */
     public DefaultTransactionalTest(String manager) {
 
+        this(manager, 0);
+    }
+
+    /**
+     * Creates new instance of {@link DefaultTransactionalTest} class.
+     *
+     * @param manager
+     *     the manger
+     * @param timeout
+     *     the transaction timeout in seconds or 0 if the default one should be used
+     */
+    public DefaultTransactionalTest(String manager, int timeout) {
+
+        this(manager, timeout, false);
+    }
+
+    /**
+     * Creates new instance of {@link DefaultTransactionalTest} class.
+     *
+     * @param manager
+     *     the manger
+     * @param timeout
+     *     the transaction timeout in seconds or 0 if the default one should be used
+     * @param readOnly
+     *     whether the transaction is read only
+     */
+    public DefaultTransactionalTest(String manager, int timeout, boolean readOnly) {
+
+        this(manager, timeout, readOnly, null);
+    }
+
+    /**
+     * Creates new instance of {@link DefaultTransactionalTest} class.
+     *
+     * @param manager
+     *     the manger
+     * @param timeout
+     *     the transaction timeout in seconds or 0 if the default one should be used
+     * @param readOnly
+     *     whether the transaction is read only
+     * @param testName
+     *     the name of the test owning the transaction or null if it is unknown
+     */
+    public DefaultTransactionalTest(String manager, int timeout, boolean readOnly, String testName) {
+
         this.manager = manager;
+        this.timeout = timeout;
+        this.readOnly = readOnly;
+        this.testName = testName;
     }
 
     /**
@@ -52,4 +115,37 @@ public class DefaultTransactionalTest implements TransactionalTest {
 
         return manager;
     }
+
+    /**
+     * Retrieves the timeout
+     *
+     * @return the timeout
+     */
+    @Override
+    public int getTimeout() {
+
+        return timeout;
+    }
+
+    /**
+     * Retrieves whether the transaction is read only
+     *
+     * @return true if the transaction is read only
+     */
+    @Override
+    public boolean isReadOnly() {
+
+        return readOnly;
+    }
+
+    /**
+     * Retrieves the name of the test owning the transaction
+     *
+     * @return the test name
+     */
+    @Override
+    public String getTestName() {
+
+        return testName;
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfigurationProducer;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.jboss.arquillian.transaction.impl.client.TransactionArchiveAppenderTestCase.getClassResourcePath;
+
+/**
+ * Tests {@link ClassIndex} class.
+ */
+public class ClassIndexTestCase {
+
+    @Test
+    public void shouldAddIndexedClassesWithoutClientClasses() throws Exception {
+
+        // given
+        JavaArchive archive = ShrinkWrap.create(JavaArchive.class);
+
+        // when
+        boolean indexed = ClassIndex.addIndexedClasses(archive, "arquillian-transaction-impl-base");
+
+        // then
+        assertThat(indexed).isTrue();
+        assertThat(archive.contains(getClassResourcePath(TransactionConfiguration.class))).isTrue();
+        assertThat(archive.contains(getClassResourcePath(TransactionConfigurationProducer.class))).isFalse();
+        assertThat(archive.contains(getClassResourcePath(ClassIndex.class))).isFalse();
+    }
+
+    @Test
+    public void shouldReportMissingIndex() throws Exception {
+
+        // given
+        JavaArchive archive = ShrinkWrap.create(JavaArchive.class);
+
+        // when
+        boolean indexed = ClassIndex.addIndexedClasses(archive, "missing-module");
+
+        // then
+        assertThat(indexed).isFalse();
+        assertThat(archive.getContent()).isEmpty();
+    }
+}
@@ -17,17 +17,27 @@
  */
 package org.jboss.arquillian.transaction.impl.client;
 
+import org.jboss.arquillian.container.test.api.RunAsClient;
+import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
 import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.TestClass;
 import org.jboss.arquillian.test.test.AbstractTestTestBase;
 import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
 import org.jboss.arquillian.transaction.api.annotation.Transactional;
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfigurationConverter;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionReportFormat;
 import org.jboss.arquillian.transaction.impl.container.TransactionConfigurationRemoteProducer;
+import org.jboss.arquillian.transaction.impl.container.TransactionMetricsSender;
 import org.jboss.arquillian.transaction.impl.container.TransactionRemoteExtension;
 import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.lifecycle.AnnotationBasedTransactionEnabler;
+import org.jboss.arquillian.transaction.impl.lifecycle.TransactionEnablerRegistry;
 import org.jboss.arquillian.transaction.impl.lifecycle.TransactionHandler;
 import org.jboss.arquillian.transaction.impl.lifecycle.TransactionProviderNotFoundException;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetricsCommand;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetricsObserver;
 import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
 import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
 import org.jboss.arquillian.transaction.spi.context.TransactionContext;
@@ -35,20 +45,30 @@ import org.jboss.arquillian.transaction.spi.event.AfterTransactionEnded;
 import org.jboss.arquillian.transaction.spi.event.AfterTransactionStarted;
 import org.jboss.arquillian.transaction.spi.event.BeforeTransactionEnded;
 import org.jboss.arquillian.transaction.spi.event.BeforeTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
 import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
 import org.jboss.shrinkwrap.api.Archive;
 import org.jboss.shrinkwrap.api.ArchivePath;
 import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests {@link TransactionArchiveAppender} class.
@@ -67,7 +87,8 @@ public class TransactionArchiveAppenderTestCase extends AbstractTestTestBase {
         AfterTransactionEnded.class, AfterTransactionStarted.class, BeforeTransactionEnded.class,
         BeforeTransactionStarted.class, TransactionProvider.class, TransactionalTest.class,
         TransactionConfiguration.class, TransactionConfigurationConverter.class,
-        TransactionConfigurationRemoteProducer.class);
+        TransactionConfigurationRemoteProducer.class, TransactionOutcome.class, TransactionMetricsObserver.class,
+        TransactionMetricsSender.class, TransactionMetricsCommand.class, TransactionReportFormat.class);
 
     @Before
     public void setUp() {
@@ -95,6 +116,104 @@ public class TransactionArchiveAppenderTestCase extends AbstractTestTestBase {
         }
     }
 
+    @Test
+    public void shouldCopyCachedArchiveWithCurrentConfiguration() throws Exception {
+
+        transactionConfiguration.setManager("firstManager");
+        Archive first = instance.createAuxiliaryArchive();
+        transactionConfiguration.setManager("secondManager");
+        Archive second = instance.createAuxiliaryArchive();
+
+        assertNotSame("Deployments must not share the archive.", first, second);
+        assertTrue("The required type is missing.",
+            second.contains(getClassResourcePath(TransactionRemoteExtension.class)));
+        assertEquals("Wrongly exported configuration.", "firstManager", getExportedManager(first));
+        assertEquals("Wrongly exported configuration.", "secondManager", getExportedManager(second));
+    }
+
+    @Test
+    public void shouldSkipArchiveForNonTransactionalTestClass() throws Exception {
+
+        bindTestClass(NonTransactionalTestClass.class, new AnnotationBasedTransactionEnabler());
+
+        assertNull("The archive must not be appended.", instance.createAuxiliaryArchive());
+    }
+
+    @Test
+    public void shouldSkipArchiveForTestClassRunningAsClient() throws Exception {
+
+        bindTestClass(ClientTestClass.class, new AnnotationBasedTransactionEnabler());
+
+        assertNull("The archive must not be appended.", instance.createAuxiliaryArchive());
+    }
+
+    @Test
+    public void shouldAppendArchiveForTransactionalTestMethod() throws Exception {
+
+        bindTestClass(TransactionalMethodTestClass.class, new AnnotationBasedTransactionEnabler());
+
+        assertNotNull("The archive must be appended.", instance.createAuxiliaryArchive());
+    }
+
+    @Test
+    public void shouldAppendArchiveWhenCustomEnablerIsRegistered() throws Exception {
+
+        bindTestClass(NonTransactionalTestClass.class, new AnnotationBasedTransactionEnabler(),
+            new CustomTransactionEnabler());
+
+        assertNotNull("The archive must be appended.", instance.createAuxiliaryArchive());
+    }
+
+    @Test
+    public void shouldMergeContributedProviderIntoSingleArchive() throws Exception {
+
+        transactionConfiguration.setSingleArchiveEnabled(true);
+        ServiceLoader serviceLoader = mock(ServiceLoader.class);
+        when(serviceLoader.all(TransactionArchiveContributor.class))
+            .thenReturn(Collections.<TransactionArchiveContributor>singletonList(new ProviderArchiveContributor()));
+        bind(ApplicationScoped.class, ServiceLoader.class, serviceLoader);
+
+        Archive archive = instance.createAuxiliaryArchive();
+
+        assertTrue("The contributed type is missing.",
+            archive.contains(getClassResourcePath(ProviderRemoteExtension.class)));
+        String remoteExtensions = getContent(archive,
+            "META-INF/services/" + RemoteLoadableExtension.class.getName());
+        assertTrue("The extension is not registered.",
+            remoteExtensions.contains(TransactionRemoteExtension.class.getName()));
+        assertTrue("The contributed extension is not registered.",
+            remoteExtensions.contains(ProviderRemoteExtension.class.getName()));
+    }
+
+    private void bindTestClass(Class<?> testClass, TransactionEnabler... transactionEnablers) {
+
+        bind(ApplicationScoped.class, TestClass.class, new TestClass(testClass));
+        bind(ApplicationScoped.class, TransactionEnablerRegistry.class,
+            new TransactionEnablerRegistry(Arrays.asList(transactionEnablers)));
+    }
+
+    private static String getContent(Archive archive, String path) throws Exception {
+
+        final InputStream inputStream = archive.get(path).getAsset().openStream();
+        try {
+            final StringBuilder content = new StringBuilder();
+            int c;
+            while ((c = inputStream.read()) != -1) {
+                content.append((char) c);
+            }
+            return content.toString();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static String getExportedManager(Archive archive) throws Exception {
+
+        final InputStream inputStream =
+            archive.get("arquillian-transaction-configuration.properties").getAsset().openStream();
+        return TransactionConfigurationConverter.importFromProperties(inputStream).getManager();
+    }
+
     /**
      * Retrieves the resource name of the give class.
      *
@@ -112,4 +231,55 @@ public class TransactionArchiveAppenderTestCase extends AbstractTestTestBase {
 
         return ArchivePaths.create(sb.toString());
     }
+
+    // -- Test doubles
+
+    public static class NonTransactionalTestClass {
+
+        public void test() {
+        }
+    }
+
+    @RunAsClient
+    @Transactional
+    public static class ClientTestClass {
+
+        public void test() {
+        }
+    }
+
+    public static class TransactionalMethodTestClass {
+
+        @RunAsClient
+        @Transactional
+        public void clientTest() {
+        }
+
+        @Transactional
+        public void inContainerTest() {
+        }
+    }
+
+    private static class CustomTransactionEnabler extends AnnotationBasedTransactionEnabler {
+    }
+
+    public static class ProviderRemoteExtension implements RemoteLoadableExtension {
+
+        @Override
+        public void register(ExtensionBuilder builder) {
+        }
+    }
+
+    private static class ProviderArchiveContributor implements TransactionArchiveContributor {
+
+        @Override
+        public JavaArchive getContribution() {
+            return ShrinkWrap.create(JavaArchive.class).addClass(ProviderRemoteExtension.class);
+        }
+
+        @Override
+        public Class<? extends RemoteLoadableExtension> getRemoteExtension() {
+            return ProviderRemoteExtension.class;
+        }
+    }
 }
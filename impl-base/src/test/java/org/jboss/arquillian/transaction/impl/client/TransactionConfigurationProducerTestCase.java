@@ -26,6 +26,7 @@ import org.jboss.arquillian.test.test.AbstractTestTestBase;
 import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfigurationProducer;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionReportFormat;
 import org.jboss.shrinkwrap.descriptor.api.Descriptors;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,6 +36,8 @@ import java.io.FileInputStream;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests {@link TransactionConfigurationProducer} class.
@@ -67,6 +70,18 @@ public class TransactionConfigurationProducerTestCase extends AbstractTestTestBa
             transactionConfiguration.getManager());
         assertEquals("Wrongly mapped transaction default mode.", TransactionMode.DISABLED,
             transactionConfiguration.getTransactionDefaultMode());
+        assertFalse("Wrongly mapped lookup cache flag.", transactionConfiguration.isLookupCacheEnabled());
+        assertEquals("Wrongly mapped transaction timeout.", 30, transactionConfiguration.getTransactionTimeout());
+        assertTrue("Wrongly mapped report flag.", transactionConfiguration.isReportEnabled());
+        assertEquals("Wrongly mapped report format.", TransactionReportFormat.CSV,
+            transactionConfiguration.getReportFormat());
+        assertEquals("Wrongly mapped report file.", "target/transaction-report.csv",
+            transactionConfiguration.getReportFile());
+        assertEquals("Wrongly mapped report top N.", 5, transactionConfiguration.getReportTopN());
+        assertTrue("Wrongly mapped async rollback flag.", transactionConfiguration.isAsyncRollbackEnabled());
+        assertTrue("Wrongly mapped single archive flag.", transactionConfiguration.isSingleArchiveEnabled());
+        assertTrue("Wrongly mapped lazy begin flag.", transactionConfiguration.isLazyBeginEnabled());
+        assertEquals("Wrongly mapped manager lease timeout.", 15, transactionConfiguration.getManagerLeaseTimeout());
 
         getManager().getContext(ClassContext.class).deactivate();
     }
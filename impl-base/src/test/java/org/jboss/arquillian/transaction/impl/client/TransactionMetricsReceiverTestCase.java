@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetrics;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetricsCommand;
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link TransactionMetricsReceiver} class.
+ */
+public class TransactionMetricsReceiverTestCase extends AbstractTestTestBase {
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(TransactionMetricsReceiver.class);
+    }
+
+    @Test
+    public void shouldMergeMetricsShippedFromContainer() throws Exception {
+
+        // given
+        Method testMethod = TestClass.class.getMethod("test");
+        TransactionMetrics clientMetrics = new TransactionMetrics();
+        clientMetrics.recordBegin(TestClass.class, testMethod, 10L);
+        bind(ApplicationScoped.class, TransactionMetrics.class, clientMetrics);
+
+        TransactionMetrics containerMetrics = new TransactionMetrics();
+        containerMetrics.recordBegin(TestClass.class, testMethod, 20L);
+        containerMetrics.recordEnd(TestClass.class, testMethod, TransactionOutcome.COMMITTED, 30L);
+        TransactionMetricsCommand command = new TransactionMetricsCommand(containerMetrics);
+
+        // when
+        getManager().fire(command);
+
+        // then
+        assertThat(command.getResult()).isEqualTo("SUCCESS");
+        assertThat(clientMetrics.getClassTimings().get(TestClass.class.getName()).getBegin().getCount())
+            .isEqualTo(2L);
+        assertThat(clientMetrics.getClassTimings().get(TestClass.class.getName()).getTotal()).isEqualTo(60L);
+    }
+
+    // -- Test doubles
+
+    @SuppressWarnings("unused")
+    public static class TestClass {
+
+        public void test() {
+        }
+    }
+}
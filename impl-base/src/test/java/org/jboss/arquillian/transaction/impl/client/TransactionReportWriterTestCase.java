@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.client;
+
+import org.jboss.arquillian.transaction.impl.configuration.TransactionReportFormat;
+import org.jboss.arquillian.transaction.impl.metrics.TransactionMetrics;
+import org.jboss.arquillian.transaction.spi.event.TransactionOutcome;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link TransactionReportWriter} class.
+ */
+public class TransactionReportWriterTestCase {
+
+    private final TransactionMetrics transactionMetrics = new TransactionMetrics();
+
+    @Before
+    public void setUp() throws Exception {
+        transactionMetrics.recordBegin(TestClass.class, TestClass.class.getMethod("fastTest"), 100L);
+        transactionMetrics.recordEnd(TestClass.class, TestClass.class.getMethod("fastTest"),
+            TransactionOutcome.ROLLED_BACK, 100L);
+        transactionMetrics.recordBegin(TestClass.class, TestClass.class.getMethod("slowTest"), 1000L);
+        transactionMetrics.recordEnd(TestClass.class, TestClass.class.getMethod("slowTest"),
+            TransactionOutcome.COMMITTED, 5000L);
+    }
+
+    @Test
+    public void shouldListOnlyTopNSlowestTestsInJsonReport() throws Exception {
+
+        // given
+        StringWriter writer = new StringWriter();
+
+        // when
+        new TransactionReportWriter(TransactionReportFormat.JSON, 1).write(transactionMetrics, writer);
+
+        // then
+        String report = writer.toString();
+        String slowestTests = report.substring(report.indexOf("\"slowestTests\""), report.indexOf("\"tests\""));
+        assertThat(report).contains("\"total\": {\"totalNanos\": 6200");
+        assertThat(report).contains("\"elidedTransactions\": 0");
+        assertThat(slowestTests).contains("{\"name\": \"" + TestClass.class.getName() + "#slowTest\", "
+            + "\"totalNanos\": 6000}");
+        assertThat(slowestTests).excludes("fastTest");
+        assertThat(report).contains("{\"name\": \"" + TestClass.class.getName() + "\", \"timings\": ");
+    }
+
+    @Test
+    public void shouldWriteCsvReportSortedBySlowestTests() throws Exception {
+
+        // given
+        StringWriter writer = new StringWriter();
+
+        // when
+        new TransactionReportWriter(TransactionReportFormat.CSV, 10).write(transactionMetrics, writer);
+
+        // then
+        String[] lines = writer.toString().split("\n");
+        assertThat(lines).hasSize(17);
+        assertThat(lines[0]).isEqualTo("scope,name,operation,count,total_ns,mean_ns,p99_ns,max_ns");
+        assertThat(lines[1]).isEqualTo("total,,begin,2,1100,550,1000,1000");
+        assertThat(lines[5]).isEqualTo("test," + TestClass.class.getName() + "#slowTest,begin,1,1000,1000,1000,1000");
+        assertThat(lines[6]).isEqualTo("test," + TestClass.class.getName() + "#slowTest,commit,1,5000,5000,5000,5000");
+        assertThat(lines[11]).isEqualTo("test," + TestClass.class.getName() + "#fastTest,rollback,1,100,100,100,100");
+        assertThat(lines[13]).startsWith("class," + TestClass.class.getName() + ",begin,2,");
+    }
+
+    // -- Test doubles
+
+    @SuppressWarnings("unused")
+    public static class TestClass {
+
+        public void fastTest() {
+        }
+
+        public void slowTest() {
+        }
+    }
+}
@@ -24,7 +24,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests {@link TransactionConfiguration} class.
@@ -66,4 +68,41 @@ public class TransactionConfigurationTestCase {
     public void shouldHaveDefaultTransactionModeSetToCommitIfNotSpecifiedOtherwise() {
         assertEquals("Expecting COMMIT value.", TransactionMode.COMMIT, instance.getTransactionDefaultMode());
     }
+
+    @Test
+    public void shouldHaveLookupCacheEnabledByDefault() {
+        assertTrue("Expecting lookup cache to be enabled.", instance.isLookupCacheEnabled());
+    }
+
+    @Test
+    public void shouldHaveNoTransactionTimeoutByDefault() {
+        assertEquals("Expecting no timeout.", 0, instance.getTransactionTimeout());
+    }
+
+    @Test
+    public void shouldHaveReportDisabledByDefault() {
+        assertFalse("Expecting report to be disabled.", instance.isReportEnabled());
+        assertEquals("Invalid default report format.", TransactionReportFormat.JSON, instance.getReportFormat());
+        assertEquals("Invalid default report top N.", 10, instance.getReportTopN());
+    }
+
+    @Test
+    public void shouldHaveAsyncRollbackDisabledByDefault() {
+        assertFalse("Expecting async rollback to be disabled.", instance.isAsyncRollbackEnabled());
+    }
+
+    @Test
+    public void shouldHaveSingleArchiveDisabledByDefault() {
+        assertFalse("Expecting single archive to be disabled.", instance.isSingleArchiveEnabled());
+    }
+
+    @Test
+    public void shouldHaveLazyBeginDisabledByDefault() {
+        assertFalse("Expecting lazy begin to be disabled.", instance.isLazyBeginEnabled());
+    }
+
+    @Test
+    public void shouldHaveDefaultManagerLeaseTimeout() {
+        assertEquals("Expecting 60 seconds.", 60, instance.getManagerLeaseTimeout());
+    }
 }
@@ -28,6 +28,8 @@ import org.junit.Test;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class TransactionConfigurationRemoteProducerTestCase extends AbstractTestTestBase {
 
@@ -47,6 +49,13 @@ public class TransactionConfigurationRemoteProducerTestCase extends AbstractTest
 
         TransactionConfiguration transactionConfiguration = getManager().resolve(TransactionConfiguration.class);
         assertEquals("Invalid transaction manager name.", "testManagerName", transactionConfiguration.getManager());
+        assertFalse("Invalid lookup cache flag.", transactionConfiguration.isLookupCacheEnabled());
+        assertEquals("Invalid transaction timeout.", 30, transactionConfiguration.getTransactionTimeout());
+        assertTrue("Invalid report flag.", transactionConfiguration.isReportEnabled());
+        assertFalse("Expecting async rollback to be disabled in the container.",
+            transactionConfiguration.isAsyncRollbackEnabled());
+        assertTrue("Invalid lazy begin flag.", transactionConfiguration.isLazyBeginEnabled());
+        assertEquals("Invalid manager lease timeout.", 15, transactionConfiguration.getManagerLeaseTimeout());
 
         getManager().getContext(ClassContext.class).deactivate();
     }
@@ -18,11 +18,15 @@
 package org.jboss.arquillian.transaction.impl.context;
 
 import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
-import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 public class TransactionContextImplTestCase {
 
@@ -38,4 +42,40 @@ public class TransactionContextImplTestCase {
     public void shouldCreateObjectStore() {
         assertNotNull("Method returned null result.", instance.createNewObjectStore());
     }
+
+    @Test
+    public void shouldIsolateObjectStoresOfConcurrentThreads() throws Exception {
+
+        // given
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        instance.activate();
+        instance.getObjectStore().add(String.class, "main");
+
+        try {
+            // when
+            final String otherThreadValue = executorService.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    instance.activate();
+                    try {
+                        final String value = instance.getObjectStore().get(String.class);
+                        instance.getObjectStore().add(String.class, "other");
+                        return value;
+                    } finally {
+                        instance.deactivate();
+                        instance.destroy();
+                    }
+                }
+            }).get();
+
+            // then
+            assertNull("Object store has been shared between threads.", otherThreadValue);
+            assertEquals("Object store has been destroyed by other thread.", "main",
+                instance.getObjectStore().get(String.class));
+        } finally {
+            executorService.shutdown();
+            instance.deactivate();
+            instance.destroy();
+        }
+    }
 }
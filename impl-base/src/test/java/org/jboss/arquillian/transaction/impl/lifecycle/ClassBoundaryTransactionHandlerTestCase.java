@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link TransactionHandler} with the {@link TransactionBoundary#CLASS} boundary.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ClassBoundaryTransactionHandlerTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private TransactionProvider mockTransactionProvider;
+
+    @Mock
+    private TransactionContext mockTransactionContext;
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(ClientSideTransactionHandler.class);
+    }
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        bind(ApplicationScoped.class, TransactionContext.class, mockTransactionContext);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, new TransactionConfiguration());
+        bind(TestScoped.class, TransactionProvider.class, mockTransactionProvider);
+
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(mockTransactionProvider);
+    }
+
+    @Test
+    public void shouldCommitSingleTransactionAfterClass() throws Exception {
+
+        // given
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+        getManager().getContext(ClassContext.class).activate(ClassBoundaryTestClass.class);
+        Object instance = new ClassBoundaryTestClass();
+
+        // when
+        getManager().fire(new BeforeClass(ClassBoundaryTestClass.class));
+        executeTest(instance, instance.getClass().getMethod("firstTest"));
+        executeTest(instance, instance.getClass().getMethod("secondTest"));
+        getManager().fire(new AfterClass(ClassBoundaryTestClass.class));
+
+        // then
+        InOrder inOrder = inOrder(mockTransactionProvider);
+        inOrder.verify(mockTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockTransactionProvider).commitTransaction(any(TransactionalTest.class));
+        inOrder.verifyNoMoreInteractions();
+        verify(mockTransactionContext, times(1)).activate();
+        verify(mockTransactionContext, times(1)).destroy();
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    @Test
+    public void shouldRollbackClassTransactionWhenTestFailed() throws Exception {
+
+        // given
+        bind(TestScoped.class, TestResult.class, TestResult.failed(null));
+        getManager().getContext(ClassContext.class).activate(ClassBoundaryTestClass.class);
+        Object instance = new ClassBoundaryTestClass();
+
+        // when
+        getManager().fire(new BeforeClass(ClassBoundaryTestClass.class));
+        executeTest(instance, instance.getClass().getMethod("firstTest"));
+        getManager().fire(new AfterClass(ClassBoundaryTestClass.class));
+
+        // then
+        verify(mockTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider).rollbackTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider, never()).commitTransaction(any(TransactionalTest.class));
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    @Test
+    public void shouldExecuteOverridingTestInSeparateTransaction() throws Exception {
+
+        // given
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+        getManager().getContext(ClassContext.class).activate(ClassBoundaryTestClass.class);
+        Object instance = new ClassBoundaryTestClass();
+
+        // when
+        getManager().fire(new BeforeClass(ClassBoundaryTestClass.class));
+        executeTest(instance, instance.getClass().getMethod("firstTest"));
+        executeTest(instance, instance.getClass().getMethod("rollbackTest"));
+        executeTest(instance, instance.getClass().getMethod("secondTest"));
+        getManager().fire(new AfterClass(ClassBoundaryTestClass.class));
+
+        // then
+        InOrder inOrder = inOrder(mockTransactionProvider);
+        inOrder.verify(mockTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockTransactionProvider).commitTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockTransactionProvider).rollbackTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockTransactionProvider).commitTransaction(any(TransactionalTest.class));
+        inOrder.verifyNoMoreInteractions();
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    private void executeTest(Object instance, Method testMethod) {
+        getManager().fire(new Before(instance, testMethod));
+        getManager().fire(new After(instance, testMethod));
+    }
+
+    // -- Test doubles
+
+    @Transactional(value = TransactionMode.COMMIT, scope = TransactionBoundary.CLASS)
+    public static class ClassBoundaryTestClass {
+
+        public void firstTest() {
+        }
+
+        public void secondTest() {
+        }
+
+        @Transactional(TransactionMode.ROLLBACK)
+        public void rollbackTest() {
+        }
+    }
+}
@@ -35,6 +35,8 @@ import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler
 import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
 import org.jboss.arquillian.transaction.spi.context.TransactionContext;
 import org.jboss.arquillian.transaction.spi.event.BeforeTransactionStarted;
+import org.jboss.arquillian.transaction.spi.provider.EnlistmentTrackingTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
 import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
 import org.junit.Before;
@@ -49,6 +51,7 @@ import java.lang.reflect.Method;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -248,6 +251,29 @@ public class ClientSideTransactionHandlerTestCase extends AbstractTestTestBase {
         getManager().getContext(ClassContext.class).deactivate();
     }
 
+    @Test
+    public void shouldRollbackReadOnlyTransaction() throws Exception {
+
+        getManager().getContext(ClassContext.class).activate(TestClass.class);
+
+        Object instance = new TestClass();
+        Method testMethod = instance.getClass().getMethod("readOnlyTest");
+        ArgumentCaptor<TransactionalTest> captor = ArgumentCaptor.forClass(TransactionalTest.class);
+
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+
+        getManager().fire(new org.jboss.arquillian.test.spi.event.suite.Before(instance, testMethod));
+        getManager().fire(new org.jboss.arquillian.test.spi.event.suite.After(instance, testMethod));
+
+        // verifies that the read only hint has been passed and the transaction has been rollback
+        verify(mockTransactionProvider).beginTransaction(captor.capture());
+        assertTrue("Expecting read only transaction.", captor.getValue().isReadOnly());
+        verify(mockTransactionProvider).rollbackTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider, never()).commitTransaction(any(TransactionalTest.class));
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
     @Test
     public void shouldRollbackTransactionOnFail() throws Exception {
 
@@ -290,6 +316,30 @@ public class ClientSideTransactionHandlerTestCase extends AbstractTestTestBase {
         getManager().getContext(ClassContext.class).deactivate();
     }
 
+    @Test
+    public void shouldRollbackTransactionWithoutEnlistedResourcesInsteadOfCommit() throws Exception {
+
+        getManager().getContext(ClassContext.class).activate(TestClass.class);
+
+        EnlistmentTrackingTransactionProvider enlistmentTrackingProvider =
+            mock(EnlistmentTrackingTransactionProvider.class);
+        bind(TestScoped.class, TransactionProvider.class, enlistmentTrackingProvider);
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(enlistmentTrackingProvider);
+
+        Object instance = new TestClass();
+        Method testMethod = instance.getClass().getMethod("commitTest");
+
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+
+        getManager().fire(new org.jboss.arquillian.test.spi.event.suite.After(instance, testMethod));
+
+        // verifies that the empty transaction has been rolled back instead of committed
+        verify(enlistmentTrackingProvider).rollbackTransaction(any(TransactionalTest.class));
+        verify(enlistmentTrackingProvider, never()).commitTransaction(any(TransactionalTest.class));
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
     @Test
     public void shouldCommitTransactionWhenDefaultModeUsed() throws Exception {
 
@@ -375,6 +425,28 @@ public class ClientSideTransactionHandlerTestCase extends AbstractTestTestBase {
         assertEventNotFiredInContext(BeforeTransactionStarted.class, ApplicationContext.class);
     }
 
+    @Test
+    public void shouldResolveTransactionMetadataOncePerTestMethod() throws Exception {
+
+        getManager().getContext(ClassContext.class).activate(TestClass.class);
+
+        Object instance = new TestClass();
+        Method testMethod = instance.getClass().getMethod("commitTest");
+
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+
+        getManager().fire(new org.jboss.arquillian.test.spi.event.suite.Before(instance, testMethod));
+        getManager().fire(new org.jboss.arquillian.test.spi.event.suite.After(instance, testMethod));
+
+        // verifies that the enablers have been consulted only for the first event
+        verify(mockServiceLoader, times(1)).all(TransactionEnabler.class);
+
+        TransactionMetadataCache metadataCache = getManager().resolve(TransactionMetadataCache.class);
+        assertEquals("The metadata has not been cached.", 1, metadataCache.size());
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
     /**
      * Imitates a test case. Used for testing different conditions.
      *
@@ -398,6 +470,11 @@ public class ClientSideTransactionHandlerTestCase extends AbstractTestTestBase {
             // empty test
         }
 
+        @Transactional(value = TransactionMode.READ_ONLY)
+        public void readOnlyTest() throws Exception {
+            // empty test
+        }
+
         public void failTest() throws Exception {
             // empty test
         }
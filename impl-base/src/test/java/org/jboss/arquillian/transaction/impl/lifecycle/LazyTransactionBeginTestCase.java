@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.provider.LazyTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.PendingTransaction;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionalResourceProxy;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the lazy begin of the test transactions in {@link TransactionHandler}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LazyTransactionBeginTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private LazyTransactionProvider mockTransactionProvider;
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(ClientSideTransactionHandler.class);
+    }
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        final TransactionConfiguration transactionConfiguration = new TransactionConfiguration();
+        transactionConfiguration.setLazyBeginEnabled(true);
+
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, transactionConfiguration);
+        bind(ApplicationScoped.class, TransactionContext.class,
+            getManager().getContext(TransactionContextImpl.class));
+        bind(TestScoped.class, TransactionProvider.class, mockTransactionProvider);
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(mockTransactionProvider);
+
+        getManager().getContext(ClassContext.class).activate(TestClass.class);
+    }
+
+    @org.junit.After
+    public void tearDown() {
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    @Test
+    public void shouldNotBeginTransactionWhenResourceIsNotUsed() throws Exception {
+
+        // given
+        Object instance = new TestClass();
+        Method testMethod = TestClass.class.getMethod("commitTest");
+
+        // when
+        getManager().fire(new Before(instance, testMethod));
+        final PendingTransaction pendingTransaction = getManager().resolve(PendingTransaction.class);
+        getManager().fire(new After(instance, testMethod));
+
+        // then
+        assertThat(pendingTransaction.isBegun()).isFalse();
+        verify(mockTransactionProvider, never()).beginTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider, never()).commitTransaction(any(TransactionalTest.class));
+    }
+
+    @Test
+    public void shouldBeginTransactionOnceOnFirstResourceUse() throws Exception {
+
+        // given
+        Object instance = new TestClass();
+        Method testMethod = TestClass.class.getMethod("commitTest");
+
+        // when
+        getManager().fire(new Before(instance, testMethod));
+        final PendingTransaction pendingTransaction = getManager().resolve(PendingTransaction.class);
+        pendingTransaction.begin();
+        pendingTransaction.begin();
+        getManager().fire(new After(instance, testMethod));
+
+        // then
+        assertThat(pendingTransaction.isBegun()).isTrue();
+        verify(mockTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider).commitTransaction(any(TransactionalTest.class));
+    }
+
+    @Test
+    public void shouldBeginTransactionOnFirstMethodOfResourceProxy() throws Exception {
+
+        // given
+        Object instance = new TestClass();
+        Method testMethod = TestClass.class.getMethod("commitTest");
+        getManager().fire(new Before(instance, testMethod));
+        final PendingTransaction pendingTransaction = getManager().resolve(PendingTransaction.class);
+        final Appendable resource = new TransactionalResourceProxy<Appendable>(Appendable.class, pendingTransaction) {
+            @Override
+            protected Appendable resolveResource() {
+                return new StringBuilder();
+            }
+        }.createProxy();
+
+        // when
+        resource.toString();
+        resource.hashCode();
+        final boolean begunBeforeUse = pendingTransaction.isBegun();
+        resource.append("used");
+        getManager().fire(new After(instance, testMethod));
+
+        // then
+        assertThat(begunBeforeUse).isFalse();
+        assertThat(pendingTransaction.isBegun()).isTrue();
+        verify(mockTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider).commitTransaction(any(TransactionalTest.class));
+    }
+
+    // -- Test doubles
+
+    public static class TestClass {
+
+        @Transactional(TransactionMode.COMMIT)
+        public void commitTest() {
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.provider.SavepointTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link TransactionHandler} in {@link TransactionMode#SAVEPOINT} mode.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SavepointTransactionHandlerTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private SavepointTransactionProvider mockSavepointTransactionProvider;
+
+    @Mock
+    private TransactionProvider mockTransactionProvider;
+
+    @Mock
+    private TransactionContext mockTransactionContext;
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(ClientSideTransactionHandler.class);
+    }
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        bind(ApplicationScoped.class, TransactionContext.class, mockTransactionContext);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, new TransactionConfiguration());
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+    }
+
+    @Test
+    public void shouldShareClassTransactionBetweenSavepointTests() throws Exception {
+
+        // given
+        useProvider(mockSavepointTransactionProvider);
+        getManager().getContext(ClassContext.class).activate(SavepointTestClass.class);
+        Object instance = new SavepointTestClass();
+
+        // when
+        getManager().fire(new BeforeClass(SavepointTestClass.class));
+        executeTest(instance, instance.getClass().getMethod("firstTest"));
+        executeTest(instance, instance.getClass().getMethod("secondTest"));
+        getManager().fire(new AfterClass(SavepointTestClass.class));
+
+        // then
+        InOrder inOrder = inOrder(mockSavepointTransactionProvider);
+        inOrder.verify(mockSavepointTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).setSavepoint(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).rollbackToSavepoint(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).setSavepoint(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).rollbackToSavepoint(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).rollbackTransaction(any(TransactionalTest.class));
+        verify(mockSavepointTransactionProvider, never()).commitTransaction(any(TransactionalTest.class));
+        verify(mockTransactionContext, times(1)).activate();
+        verify(mockTransactionContext, times(1)).destroy();
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    @Test
+    public void shouldStartClassTransactionWithFirstSavepointTest() throws Exception {
+
+        // given
+        useProvider(mockSavepointTransactionProvider);
+        getManager().getContext(ClassContext.class).activate(MixedTestClass.class);
+        Object instance = new MixedTestClass();
+
+        // when
+        getManager().fire(new BeforeClass(MixedTestClass.class));
+        verifyNoInteractions(mockSavepointTransactionProvider);
+
+        executeTest(instance, instance.getClass().getMethod("savepointTest"));
+        executeTest(instance, instance.getClass().getMethod("commitTest"));
+        getManager().fire(new AfterClass(MixedTestClass.class));
+
+        // then
+        InOrder inOrder = inOrder(mockSavepointTransactionProvider);
+        inOrder.verify(mockSavepointTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).setSavepoint(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).rollbackToSavepoint(any(TransactionalTest.class));
+        // the shared transaction is ended before the test which is not using savepoints
+        inOrder.verify(mockSavepointTransactionProvider).rollbackTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).beginTransaction(any(TransactionalTest.class));
+        inOrder.verify(mockSavepointTransactionProvider).commitTransaction(any(TransactionalTest.class));
+        inOrder.verifyNoMoreInteractions();
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    @Test
+    public void shouldFallbackToRollbackWhenSavepointsAreNotSupported() throws Exception {
+
+        // given
+        useProvider(mockTransactionProvider);
+        getManager().getContext(ClassContext.class).activate(SavepointTestClass.class);
+        Object instance = new SavepointTestClass();
+
+        // when
+        getManager().fire(new BeforeClass(SavepointTestClass.class));
+        executeTest(instance, instance.getClass().getMethod("firstTest"));
+        executeTest(instance, instance.getClass().getMethod("secondTest"));
+        getManager().fire(new AfterClass(SavepointTestClass.class));
+
+        // then
+        verify(mockTransactionProvider, times(2)).beginTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider, times(2)).rollbackTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider, never()).commitTransaction(any(TransactionalTest.class));
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    private void useProvider(TransactionProvider transactionProvider) {
+        bind(TestScoped.class, TransactionProvider.class, transactionProvider);
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(transactionProvider);
+    }
+
+    private void executeTest(Object instance, Method testMethod) {
+        getManager().fire(new Before(instance, testMethod));
+        getManager().fire(new After(instance, testMethod));
+    }
+
+    // -- Test doubles
+
+    @Transactional(TransactionMode.SAVEPOINT)
+    public static class SavepointTestClass {
+
+        public void firstTest() {
+        }
+
+        public void secondTest() {
+        }
+    }
+
+    public static class MixedTestClass {
+
+        @Transactional(TransactionMode.SAVEPOINT)
+        public void savepointTest() {
+        }
+
+        @Transactional(TransactionMode.COMMIT)
+        public void commitTest() {
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.jboss.arquillian.transaction.impl.lifecycle;
 
 import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.transaction.spi.provider.OrderedTransactionEnabler;
 import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
 import org.junit.Before;
 import org.junit.Test;
@@ -69,6 +70,22 @@ public class TransactionEnablerLoaderTestCase {
             CustomTransactionEnabler.class);
     }
 
+    @Test
+    public void shouldOrderCustomTransactionEnablersByPrecedence() throws Exception {
+        // given
+        when(mockServiceLoader.all(TransactionEnabler.class)).thenReturn(
+            Arrays.<TransactionEnabler>asList(new CustomTransactionEnabler(), new LowPrecedenceTransactionEnabler(),
+                new HighPrecedenceTransactionEnabler()));
+
+        // when
+        Collection<TransactionEnabler> transactionEnablers = transactionEnablerLoader.getTransactionEnablers();
+
+        // then
+        assertThat(transformToClasses(transactionEnablers)).containsExactly(AnnotationBasedTransactionEnabler.class,
+            HighPrecedenceTransactionEnabler.class, CustomTransactionEnabler.class,
+            LowPrecedenceTransactionEnabler.class);
+    }
+
     // -- Test helpers
 
     private List<Class<?>> transformToClasses(Collection<TransactionEnabler> transactionEnablers) {
@@ -78,4 +95,24 @@ public class TransactionEnablerLoaderTestCase {
         }
         return classes;
     }
+
+    // -- Test doubles
+
+    private static class HighPrecedenceTransactionEnabler extends CustomTransactionEnabler
+        implements OrderedTransactionEnabler {
+
+        @Override
+        public int getPrecedence() {
+            return 10;
+        }
+    }
+
+    private static class LowPrecedenceTransactionEnabler extends CustomTransactionEnabler
+        implements OrderedTransactionEnabler {
+
+        @Override
+        public int getPrecedence() {
+            return -10;
+        }
+    }
 }
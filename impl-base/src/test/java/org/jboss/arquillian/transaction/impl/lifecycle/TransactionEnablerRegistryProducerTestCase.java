@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.spi.provider.TransactionEnabler;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionEnablerRegistryProducerTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(TransactionEnablerRegistryProducer.class);
+    }
+
+    @Before
+    public void setUp() {
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        when(mockServiceLoader.all(TransactionEnabler.class)).thenReturn(
+            Arrays.<TransactionEnabler>asList(new CustomTransactionEnabler()));
+    }
+
+    @Test
+    public void shouldLoadTransactionEnablersBeforeSuite() throws Exception {
+        // when
+        getManager().fire(new BeforeSuite());
+
+        // then
+        TransactionEnablerRegistry registry = getManager().resolve(TransactionEnablerRegistry.class);
+        assertThat(registry.getTransactionEnablers()).hasSize(2);
+        assertThat(registry.getTransactionEnablers().get(0)).isInstanceOf(AnnotationBasedTransactionEnabler.class);
+        assertThat(registry.getTransactionEnablers().get(1)).isInstanceOf(CustomTransactionEnabler.class);
+    }
+}
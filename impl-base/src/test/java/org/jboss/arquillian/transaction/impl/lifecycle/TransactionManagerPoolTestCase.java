@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link TransactionManagerPool} class and the leasing of the managers in {@link TransactionHandler}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionManagerPoolTestCase extends AbstractTestTestBase {
+
+    private static final String MANAGER_POOL = "java:/handlerFirst, java:/handlerSecond";
+
+    @Mock
+    private TransactionProvider mockTransactionProvider;
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(ClientSideTransactionHandler.class);
+    }
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @Test
+    public void shouldLeaseDistinctManagers() throws Exception {
+
+        // given
+        TransactionManagerPool pool = TransactionManagerPool.getInstance();
+
+        // when
+        TransactionManagerPool.Lease first = pool.lease("java:/first,java:/second", 1);
+        TransactionManagerPool.Lease second = pool.lease("java:/first,java:/second", 1);
+        first.release();
+        first.release();
+        TransactionManagerPool.Lease third = pool.lease("java:/first,java:/second", 1);
+
+        // then
+        assertThat(first.getManager()).isEqualTo("java:/first");
+        assertThat(second.getManager()).isEqualTo("java:/second");
+        assertThat(third.getManager()).isEqualTo("java:/first");
+        assertThat(TransactionManagerPool.isPool("java:/first")).isFalse();
+        assertThat(TransactionManagerPool.isPool(null)).isFalse();
+    }
+
+    @Test
+    public void shouldShareThePoolOfTheSameManagersListedWithDifferentSpacing() throws Exception {
+
+        // given
+        TransactionManagerPool pool = TransactionManagerPool.getInstance();
+
+        // when
+        TransactionManagerPool.Lease first = pool.lease("java:/sharedFirst, java:/sharedSecond", 1);
+        TransactionManagerPool.Lease second = pool.lease("java:/sharedFirst,java:/sharedSecond", 1);
+        first.release();
+        TransactionManagerPool.Lease third = pool.lease(" java:/sharedFirst ,java:/sharedSecond", 1);
+
+        // then
+        assertThat(first.getManager()).isEqualTo("java:/sharedFirst");
+        assertThat(second.getManager()).isEqualTo("java:/sharedSecond");
+        assertThat(third.getManager()).isEqualTo("java:/sharedFirst");
+        second.release();
+        third.release();
+    }
+
+    @Test
+    public void shouldFailLeaseWhenNoManagerIsReleasedInTime() throws Exception {
+
+        // given
+        TransactionManagerPool pool = TransactionManagerPool.getInstance();
+        TransactionManagerPool.Lease first = pool.lease("java:/busyFirst,java:/busySecond", 1);
+        TransactionManagerPool.Lease second = pool.lease("java:/busyFirst,java:/busySecond", 1);
+
+        // when
+        try {
+            pool.lease("java:/busyFirst,java:/busySecond", 1);
+            fail("Expecting the lease to time out.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("[java:/busyFirst,java:/busySecond]").contains("1 seconds");
+        } finally {
+            first.release();
+            second.release();
+        }
+    }
+
+    @Test
+    public void shouldBeginTransactionWithLeasedManagerAndReturnItAfterwards() throws Exception {
+
+        // given
+        final TransactionConfiguration transactionConfiguration = new TransactionConfiguration();
+        transactionConfiguration.setManager(MANAGER_POOL);
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, transactionConfiguration);
+        bind(ApplicationScoped.class, TransactionContext.class,
+            getManager().getContext(TransactionContextImpl.class));
+        bind(TestScoped.class, TransactionProvider.class, mockTransactionProvider);
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(mockTransactionProvider);
+
+        getManager().getContext(ClassContext.class).activate(TestClass.class);
+        Object instance = new TestClass();
+        Method testMethod = TestClass.class.getMethod("commitTest");
+        ArgumentCaptor<TransactionalTest> transactionalTest = ArgumentCaptor.forClass(TransactionalTest.class);
+
+        // when
+        getManager().fire(new Before(instance, testMethod));
+        getManager().fire(new After(instance, testMethod));
+        getManager().getContext(ClassContext.class).deactivate();
+
+        // then
+        verify(mockTransactionProvider).beginTransaction(transactionalTest.capture());
+        assertThat(transactionalTest.getValue().getManager()).isEqualTo("java:/handlerFirst");
+        TransactionManagerPool.Lease lease = TransactionManagerPool.getInstance().lease(MANAGER_POOL, 1);
+        assertThat(lease.getManager()).isEqualTo("java:/handlerSecond");
+        TransactionManagerPool.Lease returned = TransactionManagerPool.getInstance().lease(MANAGER_POOL, 1);
+        assertThat(returned.getManager()).isEqualTo("java:/handlerFirst");
+        lease.release();
+        returned.release();
+    }
+
+    // -- Test doubles
+
+    public static class TestClass {
+
+        @Transactional(TransactionMode.COMMIT)
+        public void commitTest() {
+        }
+    }
+}
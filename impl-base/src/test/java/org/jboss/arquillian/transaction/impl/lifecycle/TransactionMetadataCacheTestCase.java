@@ -0,0 +1,91 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link TransactionMetadataCache} class.
+ */
+public class TransactionMetadataCacheTestCase {
+
+    private final TransactionMetadataCache cache = new TransactionMetadataCache();
+
+    @Test
+    public void shouldReturnNullWhenMetadataHasNotBeenCached() throws Exception {
+        // when
+        TransactionMetadata metadata = cache.get(BaseTest.class, BaseTest.class.getMethod("test"));
+
+        // then
+        assertThat(metadata).isNull();
+    }
+
+    @Test
+    public void shouldKeepFirstCachedMetadata() throws Exception {
+        // given
+        Method testMethod = BaseTest.class.getMethod("test");
+        TransactionMetadata first =
+            new TransactionMetadata(TransactionMode.COMMIT, null, null, TransactionBoundary.TEST, 0);
+        TransactionMetadata second =
+            new TransactionMetadata(TransactionMode.ROLLBACK, null, null, TransactionBoundary.TEST, 0);
+
+        // when
+        cache.put(BaseTest.class, testMethod, first);
+        TransactionMetadata stored = cache.put(BaseTest.class, testMethod, second);
+
+        // then
+        assertThat(stored).isSameAs(first);
+        assertThat(cache.get(BaseTest.class, testMethod)).isSameAs(first);
+    }
+
+    @Test
+    public void shouldDistinguishInheritedMethodsByTestClass() throws Exception {
+        // given
+        Method testMethod = BaseTest.class.getMethod("test");
+        TransactionMetadata base =
+            new TransactionMetadata(TransactionMode.COMMIT, null, null, TransactionBoundary.TEST, 0);
+        TransactionMetadata extended =
+            new TransactionMetadata(TransactionMode.ROLLBACK, null, null, TransactionBoundary.TEST, 0);
+
+        // when
+        cache.put(BaseTest.class, testMethod, base);
+        cache.put(ExtendedTest.class, testMethod, extended);
+
+        // then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(ExtendedTest.class, testMethod)).isSameAs(extended);
+    }
+
+    // -- Test doubles
+
+    @SuppressWarnings("unused")
+    public static class BaseTest {
+
+        public void test() {
+        }
+    }
+
+    public static class ExtendedTest extends BaseTest {
+    }
+}
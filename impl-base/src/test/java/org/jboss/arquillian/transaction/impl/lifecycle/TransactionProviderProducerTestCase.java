@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link TransactionProviderProducer} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionProviderProducerTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    @Mock
+    private TransactionProvider mockTransactionProvider;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(TransactionProviderProducer.class);
+    }
+
+    @Test
+    public void shouldLookupTransactionProviderOncePerSuite() throws Exception {
+        // given
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(mockTransactionProvider);
+        Object instance = new TestClass();
+        Method testMethod = instance.getClass().getMethod("test");
+
+        // when
+        getManager().fire(new BeforeSuite());
+        getManager().fire(new Before(instance, testMethod));
+        TransactionProvider firstTestProvider = getManager().resolve(TransactionProvider.class);
+        getManager().fire(new After(instance, testMethod));
+        getManager().fire(new Before(instance, testMethod));
+
+        // then
+        assertThat(firstTestProvider).isSameAs(mockTransactionProvider);
+        assertThat(getManager().resolve(TransactionProvider.class)).isSameAs(mockTransactionProvider);
+        verify(mockServiceLoader, times(1)).onlyOne(TransactionProvider.class);
+    }
+
+    @Test(expected = TransactionProviderNotFoundException.class)
+    public void shouldReportMultipleTransactionProvidersWhenTestIsExecuted() throws Exception {
+        // given
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenThrow(new IllegalStateException());
+        Object instance = new TestClass();
+        Method testMethod = instance.getClass().getMethod("test");
+
+        // when
+        getManager().fire(new BeforeSuite());
+        getManager().fire(new Before(instance, testMethod));
+    }
+
+    // -- Test doubles
+
+    @SuppressWarnings("unused")
+    private static class TestClass {
+
+        public void test() {
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests {@link TransactionHandler} with the transaction timeout.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionTimeoutHandlerTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private TransactionProvider mockTransactionProvider;
+
+    @Mock
+    private TransactionContext mockTransactionContext;
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    private final TransactionConfiguration transactionConfiguration = new TransactionConfiguration();
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(ClientSideTransactionHandler.class);
+    }
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        bind(ApplicationScoped.class, TransactionContext.class, mockTransactionContext);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, transactionConfiguration);
+        bind(TestScoped.class, TransactionProvider.class, mockTransactionProvider);
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(mockTransactionProvider);
+    }
+
+    @Test
+    public void shouldPassResolvedTimeoutToProvider() throws Exception {
+
+        // given
+        transactionConfiguration.setTransactionTimeout(60);
+        Object instance = new TimeoutTestClass();
+        ArgumentCaptor<TransactionalTest> captor = ArgumentCaptor.forClass(TransactionalTest.class);
+
+        // when
+        executeTest(instance, TimeoutTestClass.class.getMethod("methodTimeoutTest"));
+        executeTest(instance, TimeoutTestClass.class.getMethod("classTimeoutTest"));
+        executeTest(new TestClass(), TestClass.class.getMethod("test"));
+
+        // then
+        verify(mockTransactionProvider, times(3)).beginTransaction(captor.capture());
+        assertThat(captor.getAllValues().get(0).getTimeout()).isEqualTo(5);
+        assertThat(captor.getAllValues().get(1).getTimeout()).isEqualTo(20);
+        assertThat(captor.getAllValues().get(2).getTimeout()).isEqualTo(60);
+        verify(mockTransactionProvider, times(3)).commitTransaction(any(TransactionalTest.class));
+    }
+
+    @Test
+    public void shouldRollbackTransactionExceedingTimeout() throws Exception {
+
+        // given
+        Object instance = new TimeoutTestClass();
+        Method testMethod = TimeoutTestClass.class.getMethod("expiringTest");
+
+        // when
+        getManager().fire(new Before(instance, testMethod));
+        TimeUnit.MILLISECONDS.sleep(1100);
+        try {
+            getManager().fire(new After(instance, testMethod));
+            fail("Expecting the transaction timeout to be reported.");
+        } catch (TransactionTimeoutException e) {
+
+            // then
+            assertThat(e.getMessage()).contains(TimeoutTestClass.class.getName() + "#expiringTest");
+        }
+        verify(mockTransactionProvider).rollbackTransaction(any(TransactionalTest.class));
+        verify(mockTransactionProvider, never()).commitTransaction(any(TransactionalTest.class));
+        verify(mockTransactionContext).destroy();
+    }
+
+    @Test
+    public void shouldMarkTransactionRollbackOnlyBeforeTestEnds() throws Exception {
+
+        // given
+        Object instance = new TimeoutTestClass();
+        Method testMethod = TimeoutTestClass.class.getMethod("expiringTest");
+
+        // when
+        getManager().fire(new Before(instance, testMethod));
+
+        // then
+        verify(mockTransactionProvider, timeout(5000)).setRollbackOnly(any(TransactionalTest.class));
+        verify(mockTransactionProvider, never()).rollbackTransaction(any(TransactionalTest.class));
+        try {
+            getManager().fire(new After(instance, testMethod));
+            fail("Expecting the transaction timeout to be reported.");
+        } catch (TransactionTimeoutException e) {
+            verify(mockTransactionProvider).rollbackTransaction(any(TransactionalTest.class));
+        }
+    }
+
+    @Test
+    public void shouldNotExpireCancelledDeadline() throws Exception {
+
+        // given
+        final AtomicBoolean executed = new AtomicBoolean();
+        TransactionWatchdog.TransactionDeadline deadline = TransactionWatchdog.getInstance().watch(50,
+            TimeUnit.MILLISECONDS, new Runnable() {
+                @Override
+                public void run() {
+                    executed.set(true);
+                }
+            });
+
+        // when
+        deadline.cancel();
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        // then
+        assertThat(deadline.isExpired()).isFalse();
+        assertThat(executed.get()).isFalse();
+    }
+
+    @Test
+    public void shouldStopWatchdogThreadAfterSuite() throws Exception {
+
+        // given
+        final AtomicReference<Thread> watchdogThread = new AtomicReference<Thread>();
+        final CountDownLatch executed = new CountDownLatch(1);
+        TransactionWatchdog.getInstance().watch(10, TimeUnit.MILLISECONDS, new Runnable() {
+            @Override
+            public void run() {
+                watchdogThread.set(Thread.currentThread());
+                executed.countDown();
+            }
+        });
+        assertThat(executed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        new TransactionWatchdogTerminator().shutdownAfterSuite(new AfterSuite());
+
+        // then
+        watchdogThread.get().join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(watchdogThread.get().isAlive()).isFalse();
+    }
+
+    private void executeTest(Object instance, Method testMethod) {
+        getManager().fire(new Before(instance, testMethod));
+        getManager().fire(new After(instance, testMethod));
+    }
+
+    // -- Test doubles
+
+    @Transactional(value = TransactionMode.COMMIT, timeout = 20)
+    public static class TimeoutTestClass {
+
+        @Transactional(value = TransactionMode.COMMIT, timeout = 5)
+        public void methodTimeoutTest() {
+        }
+
+        public void classTimeoutTest() {
+        }
+
+        @Transactional(value = TransactionMode.COMMIT, timeout = 1)
+        public void expiringTest() {
+        }
+    }
+
+    @Transactional(TransactionMode.COMMIT)
+    public static class TestClass {
+
+        public void test() {
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.lifecycle;
+
+import org.jboss.arquillian.transaction.api.annotation.TransactionBoundary;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link TransactionalIndex} class, the index of the test doubles is in the test resources.
+ */
+public class TransactionalIndexTestCase {
+
+    @Test
+    public void shouldPreferIndexedSettings() throws Exception {
+
+        // when
+        Transactional classLevel = TransactionalIndex.getInstance().getTransactional(IndexedTestClass.class);
+        Transactional methodLevel = TransactionalIndex.getInstance()
+            .getTransactional(IndexedTestClass.class.getMethod("indexedTest", String[].class, int.class));
+        Transactional notIndexed = TransactionalIndex.getInstance()
+            .getTransactional(IndexedTestClass.class.getMethod("otherTest"));
+
+        // then
+        assertThat(classLevel.value()).isEqualTo(TransactionMode.COMMIT);
+        assertThat(classLevel.manager()).isEqualTo("java:/indexed");
+        assertThat(classLevel.scope()).isEqualTo(TransactionBoundary.CLASS);
+        assertThat(classLevel.timeout()).isEqualTo(5);
+        assertThat(methodLevel.value()).isEqualTo(TransactionMode.ROLLBACK);
+        assertThat(methodLevel.manager()).isEmpty();
+        assertThat(notIndexed).isNull();
+    }
+
+    @Test
+    public void shouldFallBackToReflectionForClassesNotIndexed() throws Exception {
+
+        // when
+        Transactional classLevel = TransactionalIndex.getInstance().getTransactional(ReflectedTestClass.class);
+        Transactional methodLevel = TransactionalIndex.getInstance()
+            .getTransactional(ReflectedTestClass.class.getMethod("reflectedTest"));
+
+        // then
+        assertThat(classLevel.value()).isEqualTo(TransactionMode.ROLLBACK);
+        assertThat(methodLevel.value()).isEqualTo(TransactionMode.DISABLED);
+    }
+
+    // -- Test doubles
+
+    @Transactional(value = TransactionMode.COMMIT, manager = "java:/indexed", scope = TransactionBoundary.CLASS,
+        timeout = 5)
+    public static class IndexedTestClass {
+
+        @Transactional(TransactionMode.ROLLBACK)
+        public void indexedTest(String[] names, int count) {
+        }
+
+        public void otherTest() {
+        }
+    }
+
+    @Transactional(TransactionMode.ROLLBACK)
+    public static class ReflectedTestClass {
+
+        @Transactional(TransactionMode.DISABLED)
+        public void reflectedTest() {
+        }
+    }
+}
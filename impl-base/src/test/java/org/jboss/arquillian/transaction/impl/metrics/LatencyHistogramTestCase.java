@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.metrics;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTestCase {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void shouldReturnZeroWhenNothingHasBeenRecorded() {
+        // then
+        assertThat(histogram.getCount()).isEqualTo(0L);
+        assertThat(histogram.getMean()).isEqualTo(0L);
+        assertThat(histogram.getPercentile(99)).isEqualTo(0L);
+    }
+
+    @Test
+    public void shouldAggregateRecordedLatencies() {
+        // when
+        histogram.record(100L);
+        histogram.record(300L);
+        histogram.record(-5L);
+
+        // then
+        assertThat(histogram.getCount()).isEqualTo(3L);
+        assertThat(histogram.getTotal()).isEqualTo(400L);
+        assertThat(histogram.getMax()).isEqualTo(300L);
+        assertThat(histogram.getMean()).isEqualTo(133L);
+    }
+
+    @Test
+    public void shouldReportPercentilesWithPowerOfTwoAccuracy() {
+        // given
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000L);
+        }
+        histogram.record(1000000L);
+
+        // then
+        assertThat(histogram.getPercentile(50)).isEqualTo(1023L);
+        assertThat(histogram.getPercentile(99)).isEqualTo(1023L);
+        assertThat(histogram.getPercentile(100)).isEqualTo(1000000L);
+    }
+}
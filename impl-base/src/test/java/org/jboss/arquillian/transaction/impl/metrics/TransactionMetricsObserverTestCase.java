@@ -0,0 +1,153 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.impl.metrics;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.TestScoped;
+import org.jboss.arquillian.test.spi.context.ClassContext;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.jboss.arquillian.transaction.impl.client.ClientSideTransactionHandler;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.spi.context.TransactionContext;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.AfterTransactionStarted;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionEnded;
+import org.jboss.arquillian.transaction.spi.event.BeforeTransactionStarted;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link TransactionMetricsObserver} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionMetricsObserverTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private TransactionProvider mockTransactionProvider;
+
+    @Mock
+    private ServiceLoader mockServiceLoader;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(ClientSideTransactionHandler.class);
+        extensions.add(TransactionMetricsObserver.class);
+    }
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @org.junit.Before
+    public void setUp() throws Exception {
+        bind(ApplicationScoped.class, ServiceLoader.class, mockServiceLoader);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, new TransactionConfiguration());
+        bind(ApplicationScoped.class, TransactionContext.class,
+            getManager().getContext(TransactionContextImpl.class));
+        bind(TestScoped.class, TransactionProvider.class, mockTransactionProvider);
+        bind(TestScoped.class, TestResult.class, TestResult.passed());
+
+        when(mockServiceLoader.onlyOne(TransactionProvider.class)).thenReturn(mockTransactionProvider);
+    }
+
+    @Test
+    public void shouldRecordTransactionLatenciesPerTestAndClass() throws Exception {
+
+        // given
+        getManager().getContext(ClassContext.class).activate(TestClass.class);
+        Object instance = new TestClass();
+        Method commitTest = TestClass.class.getMethod("commitTest");
+        Method rollbackTest = TestClass.class.getMethod("rollbackTest");
+
+        // when
+        getManager().fire(new Before(instance, commitTest));
+        getManager().fire(new After(instance, commitTest));
+        getManager().fire(new Before(instance, rollbackTest));
+        getManager().fire(new After(instance, rollbackTest));
+
+        // then
+        TransactionMetrics transactionMetrics = getManager().resolve(TransactionMetrics.class);
+
+        TransactionTimings commitTimings =
+            transactionMetrics.getTestTimings().get(TransactionMetrics.getTestName(TestClass.class, commitTest));
+        assertThat(commitTimings.getBegin().getCount()).isEqualTo(1L);
+        assertThat(commitTimings.getCommit().getCount()).isEqualTo(1L);
+        assertThat(commitTimings.getRollback().getCount()).isEqualTo(0L);
+
+        TransactionTimings rollbackTimings =
+            transactionMetrics.getTestTimings().get(TransactionMetrics.getTestName(TestClass.class, rollbackTest));
+        assertThat(rollbackTimings.getRollback().getCount()).isEqualTo(1L);
+
+        TransactionTimings classTimings = transactionMetrics.getClassTimings().get(TestClass.class.getName());
+        assertThat(classTimings.getBegin().getCount()).isEqualTo(2L);
+        assertThat(classTimings.getCommit().getCount()).isEqualTo(1L);
+        assertThat(classTimings.getRollback().getCount()).isEqualTo(1L);
+
+        getManager().getContext(ClassContext.class).deactivate();
+    }
+
+    @Test
+    public void shouldIgnoreEventsWithoutTestIdentity() throws Exception {
+
+        // given
+        TransactionContext transactionContext = getManager().getContext(TransactionContextImpl.class);
+        transactionContext.activate();
+
+        // when
+        getManager().fire(new BeforeTransactionStarted());
+        getManager().fire(new AfterTransactionStarted());
+        getManager().fire(new BeforeTransactionEnded());
+        getManager().fire(new AfterTransactionEnded());
+        transactionContext.destroy();
+
+        // then
+        assertThat(getManager().resolve(TransactionMetrics.class)).isNull();
+    }
+
+    // -- Test doubles
+
+    public static class TestClass {
+
+        @Transactional(TransactionMode.COMMIT)
+        public void commitTest() {
+        }
+
+        @Transactional(TransactionMode.ROLLBACK)
+        public void rollbackTest() {
+        }
+    }
+}
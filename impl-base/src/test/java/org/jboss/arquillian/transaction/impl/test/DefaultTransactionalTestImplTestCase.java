@@ -20,6 +20,9 @@ package org.jboss.arquillian.transaction.impl.test;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests {@link DefaultTransactionalTest} class.
@@ -45,4 +48,40 @@ public class DefaultTransactionalTestImplTestCase {
 
         assertEquals("Invalid property value.", manager, instance.getManager());
     }
+
+    /**
+     * Tests {@link DefaultTransactionalTest#getTimeout()} method.</p>
+     */
+    @Test
+    public void shouldReturnTimeout() {
+
+        instance = new DefaultTransactionalTest("manager", 30);
+
+        assertEquals("Invalid property value.", 30, instance.getTimeout());
+        assertEquals("Invalid default value.", 0, new DefaultTransactionalTest("manager").getTimeout());
+    }
+
+    /**
+     * Tests {@link DefaultTransactionalTest#isReadOnly()} method.</p>
+     */
+    @Test
+    public void shouldReturnReadOnly() {
+
+        instance = new DefaultTransactionalTest("manager", 0, true);
+
+        assertTrue("Invalid property value.", instance.isReadOnly());
+        assertFalse("Invalid default value.", new DefaultTransactionalTest("manager", 0).isReadOnly());
+    }
+
+    /**
+     * Tests {@link DefaultTransactionalTest#getTestName()} method.</p>
+     */
+    @Test
+    public void shouldReturnTestName() {
+
+        instance = new DefaultTransactionalTest("manager", 0, false, "org.example.Test#test");
+
+        assertEquals("Invalid property value.", "org.example.Test#test", instance.getTestName());
+        assertNull("Invalid default value.", new DefaultTransactionalTest("manager").getTestName());
+    }
 }
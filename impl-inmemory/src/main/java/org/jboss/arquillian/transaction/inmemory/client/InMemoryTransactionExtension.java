@@ -0,0 +1,44 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.inmemory.client;
+
+import org.jboss.arquillian.core.spi.LoadableExtension;
+import org.jboss.arquillian.test.spi.enricher.resource.ResourceProvider;
+import org.jboss.arquillian.transaction.inmemory.configuration.InMemoryTransactionConfigurationProducer;
+import org.jboss.arquillian.transaction.inmemory.provider.InMemoryTransactionProvider;
+import org.jboss.arquillian.transaction.inmemory.provider.InMemoryTransactionResourceProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+
+/**
+ * Registers the in-memory transaction provider. The provider is meant for the tests executed on the client side,
+ * so nothing is bundled for the container.
+ */
+public class InMemoryTransactionExtension implements LoadableExtension {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void register(ExtensionBuilder builder) {
+
+        builder.observer(InMemoryTransactionConfigurationProducer.class);
+        builder.service(TransactionProvider.class, InMemoryTransactionProvider.class);
+        builder.service(ResourceProvider.class, InMemoryTransactionResourceProvider.class);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.inmemory.configuration;
+
+/**
+ * The configuration of the in-memory transaction provider, which simulates the latencies and failures of a real
+ * transaction manager. All the latencies are in milliseconds and the failure rates between 0 and 1.
+ */
+public class InMemoryTransactionConfiguration {
+
+    /**
+     * The latency of resolving the transaction manager, paid on every begin unless the lookup cache is enabled.
+     */
+    private long lookupLatency;
+
+    private long beginLatency;
+
+    /**
+     * The latency of committing a single enlisted resource.
+     */
+    private long commitLatency;
+
+    private long rollbackLatency;
+
+    private double beginFailureRate;
+
+    private double commitFailureRate;
+
+    /**
+     * The number of the simulated resources enlisted in every begun transaction.
+     */
+    private int enlistedResources = 1;
+
+    public long getLookupLatency() {
+        return lookupLatency;
+    }
+
+    public void setLookupLatency(long lookupLatency) {
+        this.lookupLatency = lookupLatency;
+    }
+
+    public long getBeginLatency() {
+        return beginLatency;
+    }
+
+    public void setBeginLatency(long beginLatency) {
+        this.beginLatency = beginLatency;
+    }
+
+    public long getCommitLatency() {
+        return commitLatency;
+    }
+
+    public void setCommitLatency(long commitLatency) {
+        this.commitLatency = commitLatency;
+    }
+
+    public long getRollbackLatency() {
+        return rollbackLatency;
+    }
+
+    public void setRollbackLatency(long rollbackLatency) {
+        this.rollbackLatency = rollbackLatency;
+    }
+
+    public double getBeginFailureRate() {
+        return beginFailureRate;
+    }
+
+    public void setBeginFailureRate(double beginFailureRate) {
+        this.beginFailureRate = beginFailureRate;
+    }
+
+    public double getCommitFailureRate() {
+        return commitFailureRate;
+    }
+
+    public void setCommitFailureRate(double commitFailureRate) {
+        this.commitFailureRate = commitFailureRate;
+    }
+
+    public int getEnlistedResources() {
+        return enlistedResources;
+    }
+
+    public void setEnlistedResources(int enlistedResources) {
+        this.enlistedResources = enlistedResources;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.inmemory.configuration;
+
+import org.jboss.arquillian.config.descriptor.api.ArquillianDescriptor;
+import org.jboss.arquillian.config.descriptor.api.ExtensionDef;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Loads the {@link InMemoryTransactionConfiguration} from the {@code transaction-inmemory} extension of
+ * the Arquillian descriptor.
+ */
+public class InMemoryTransactionConfigurationProducer {
+
+    public static final String IN_MEMORY_TRANSACTION_EXTENSION = "transaction-inmemory";
+
+    public static final String LOOKUP_LATENCY_PROPERTY_NAME = "lookupLatency";
+
+    public static final String BEGIN_LATENCY_PROPERTY_NAME = "beginLatency";
+
+    public static final String COMMIT_LATENCY_PROPERTY_NAME = "commitLatency";
+
+    public static final String ROLLBACK_LATENCY_PROPERTY_NAME = "rollbackLatency";
+
+    public static final String BEGIN_FAILURE_RATE_PROPERTY_NAME = "beginFailureRate";
+
+    public static final String COMMIT_FAILURE_RATE_PROPERTY_NAME = "commitFailureRate";
+
+    public static final String ENLISTED_RESOURCES_PROPERTY_NAME = "enlistedResources";
+
+    @Inject
+    @ApplicationScoped
+    private InstanceProducer<InMemoryTransactionConfiguration> configurationInstance;
+
+    /**
+     * Loads the configuration in the load configuration bootstrapping phase.
+     *
+     * @param descriptor
+     *     the event fired during load configuration (before the test suite events are fired)
+     */
+    public void loadConfiguration(@Observes ArquillianDescriptor descriptor) {
+
+        final Map<String, String> extensionProperties = getExtensionProperties(descriptor);
+
+        final InMemoryTransactionConfiguration configuration = new InMemoryTransactionConfiguration();
+        final String lookupLatency = extensionProperties.get(LOOKUP_LATENCY_PROPERTY_NAME);
+        if (lookupLatency != null && lookupLatency.length() > 0) {
+            configuration.setLookupLatency(Long.parseLong(lookupLatency));
+        }
+        final String beginLatency = extensionProperties.get(BEGIN_LATENCY_PROPERTY_NAME);
+        if (beginLatency != null && beginLatency.length() > 0) {
+            configuration.setBeginLatency(Long.parseLong(beginLatency));
+        }
+        final String commitLatency = extensionProperties.get(COMMIT_LATENCY_PROPERTY_NAME);
+        if (commitLatency != null && commitLatency.length() > 0) {
+            configuration.setCommitLatency(Long.parseLong(commitLatency));
+        }
+        final String rollbackLatency = extensionProperties.get(ROLLBACK_LATENCY_PROPERTY_NAME);
+        if (rollbackLatency != null && rollbackLatency.length() > 0) {
+            configuration.setRollbackLatency(Long.parseLong(rollbackLatency));
+        }
+        final String beginFailureRate = extensionProperties.get(BEGIN_FAILURE_RATE_PROPERTY_NAME);
+        if (beginFailureRate != null && beginFailureRate.length() > 0) {
+            configuration.setBeginFailureRate(Double.parseDouble(beginFailureRate));
+        }
+        final String commitFailureRate = extensionProperties.get(COMMIT_FAILURE_RATE_PROPERTY_NAME);
+        if (commitFailureRate != null && commitFailureRate.length() > 0) {
+            configuration.setCommitFailureRate(Double.parseDouble(commitFailureRate));
+        }
+        final String enlistedResources = extensionProperties.get(ENLISTED_RESOURCES_PROPERTY_NAME);
+        if (enlistedResources != null && enlistedResources.length() > 0) {
+            configuration.setEnlistedResources(Integer.parseInt(enlistedResources));
+        }
+
+        configurationInstance.set(configuration);
+    }
+
+    private Map<String, String> getExtensionProperties(ArquillianDescriptor arquillianDescriptor) {
+        for (ExtensionDef extensionDef : arquillianDescriptor.getExtensions()) {
+            if (IN_MEMORY_TRANSACTION_EXTENSION.equals(extensionDef.getExtensionName())) {
+                return extensionDef.getExtensionProperties();
+            }
+        }
+
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.inmemory.provider;
+
+/**
+ * The state of a transaction driven by {@link InMemoryTransactionProvider}.
+ * <br />
+ * The test can mark the transaction rollback only or enlist additional simulated resources through
+ * the instance injected with {@link org.jboss.arquillian.test.api.ArquillianResource}.
+ */
+public class InMemoryTransaction {
+
+    /**
+     * The status of the transaction.
+     */
+    public enum Status {
+        ACTIVE,
+        MARKED_ROLLBACK,
+        COMMITTED,
+        ROLLED_BACK
+    }
+
+    private volatile Status status = Status.ACTIVE;
+
+    private int enlistedResources;
+
+    private int savepoints;
+
+    InMemoryTransaction(int enlistedResources) {
+        this.enlistedResources = enlistedResources;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getEnlistedResources() {
+        return enlistedResources;
+    }
+
+    public int getSavepoints() {
+        return savepoints;
+    }
+
+    /**
+     * Enlists a simulated resource, which is committed together with the transaction.
+     */
+    public void enlistResource() {
+        checkActive();
+        enlistedResources++;
+    }
+
+    /**
+     * Marks the transaction, so it is rolled back instead of committed.
+     */
+    public void setRollbackOnly() {
+        checkActive();
+        status = Status.MARKED_ROLLBACK;
+    }
+
+    void setSavepoint() {
+        checkActive();
+        savepoints++;
+    }
+
+    void rollbackToSavepoint() {
+        if (savepoints == 0) {
+            throw new IllegalStateException("No savepoint has been set.");
+        }
+        savepoints--;
+    }
+
+    void complete(Status completedStatus) {
+        if (status != Status.ACTIVE && status != Status.MARKED_ROLLBACK) {
+            throw new IllegalStateException("The transaction has been already completed.");
+        }
+        status = completedStatus;
+    }
+
+    private void checkActive() {
+        if (status != Status.ACTIVE) {
+            throw new IllegalStateException("The transaction is not active, its status is " + status + ".");
+        }
+    }
+}
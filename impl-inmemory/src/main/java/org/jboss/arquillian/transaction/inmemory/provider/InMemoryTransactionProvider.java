@@ -0,0 +1,250 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.inmemory.provider;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.inmemory.configuration.InMemoryTransactionConfiguration;
+import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
+import org.jboss.arquillian.transaction.spi.provider.EnlistmentTrackingTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.SavepointTransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transaction provider keeping the transaction state in memory, so the extension can be run, benchmarked and load
+ * tested without any container or transaction manager.
+ * <br />
+ * The latencies and failures of a real transaction manager are simulated as set in
+ * {@link InMemoryTransactionConfiguration}. The commit latency is paid for every enlisted resource, which mimics
+ * the two phase commit. The transaction is stored in the transaction context and it can be injected into the test.
+ * <br />
+ * The provider is shared by the tests running in parallel, so its statistics are atomic and the failures are
+ * drawn from the random generator of the calling thread.
+ *
+ * @see InMemoryTransactionResourceProvider
+ */
+public class InMemoryTransactionProvider implements SavepointTransactionProvider,
+    EnlistmentTrackingTransactionProvider {
+
+    private static final InMemoryTransactionConfiguration DEFAULT_CONFIGURATION =
+        new InMemoryTransactionConfiguration();
+
+    private final AtomicLong begun = new AtomicLong();
+
+    private final AtomicLong committed = new AtomicLong();
+
+    private final AtomicLong rolledBack = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final AtomicLong beginFailed = new AtomicLong();
+
+    private volatile boolean lookedUp;
+
+    @Inject
+    private Instance<InMemoryTransactionConfiguration> inMemoryConfigurationInstance;
+
+    @Inject
+    private Instance<TransactionConfiguration> configurationInstance;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<InMemoryTransaction> transactionInstance;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beginTransaction(TransactionalTest transactionalTest) {
+        final InMemoryTransactionConfiguration configuration = getConfiguration();
+
+        lookup(configuration);
+        simulateLatency(configuration.getBeginLatency());
+        if (isFailureInjected(configuration.getBeginFailureRate())) {
+            beginFailed.incrementAndGet();
+            throw new RuntimeException("Unable to start transaction, simulated failure.");
+        }
+
+        transactionInstance.set(new InMemoryTransaction(configuration.getEnlistedResources()));
+        begun.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * The transaction marked rollback only is rolled back instead.
+     */
+    @Override
+    public void commitTransaction(TransactionalTest transactionalTest) {
+        final InMemoryTransaction transaction = getTransaction();
+        if (InMemoryTransaction.Status.MARKED_ROLLBACK.equals(transaction.getStatus())) {
+            rollback(transaction);
+            return;
+        }
+
+        final InMemoryTransactionConfiguration configuration = getConfiguration();
+        simulateLatency(configuration.getCommitLatency() * transaction.getEnlistedResources());
+        if (isFailureInjected(configuration.getCommitFailureRate())) {
+            transaction.complete(InMemoryTransaction.Status.ROLLED_BACK);
+            failed.incrementAndGet();
+            throw new RuntimeException("Unable to commit the transaction, simulated failure.");
+        }
+
+        transaction.complete(InMemoryTransaction.Status.COMMITTED);
+        committed.incrementAndGet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackTransaction(TransactionalTest transactionalTest) {
+        rollback(getTransaction());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setRollbackOnly(TransactionalTest transactionalTest) {
+        final InMemoryTransaction transaction = transactionInstance.get();
+        if (transaction != null && InMemoryTransaction.Status.ACTIVE.equals(transaction.getStatus())) {
+            transaction.setRollbackOnly();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSavepoint(TransactionalTest transactionalTest) {
+        getTransaction().setSavepoint();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackToSavepoint(TransactionalTest transactionalTest) {
+        simulateLatency(getConfiguration().getRollbackLatency());
+        getTransaction().rollbackToSavepoint();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasEnlistedResources(TransactionalTest transactionalTest) {
+        return getTransaction().getEnlistedResources() > 0;
+    }
+
+    public long getBegun() {
+        return begun.get();
+    }
+
+    public long getCommitted() {
+        return committed.get();
+    }
+
+    public long getRolledBack() {
+        return rolledBack.get();
+    }
+
+    /**
+     * Retrieves the number of the failed commits.
+     *
+     * @return the number of the commits failed by the simulated failures
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Retrieves the number of the transactions which have failed to begin, so they have never been completed.
+     *
+     * @return the number of the begins failed by the simulated failures
+     */
+    public long getBeginFailed() {
+        return beginFailed.get();
+    }
+
+    /**
+     * Retrieves the number of the transactions completed either way.
+     *
+     * @return the number of the commits, rollbacks and failed commits
+     */
+    public long getCompleted() {
+        return committed.get() + rolledBack.get() + failed.get();
+    }
+
+    private void rollback(InMemoryTransaction transaction) {
+        simulateLatency(getConfiguration().getRollbackLatency());
+        transaction.complete(InMemoryTransaction.Status.ROLLED_BACK);
+        rolledBack.incrementAndGet();
+    }
+
+    /**
+     * Simulates the lookup of the transaction manager, which is done only once if the lookup cache is enabled.
+     * The tests starting concurrently might all simulate the first lookup, as they would all miss a real cache.
+     */
+    private void lookup(InMemoryTransactionConfiguration configuration) {
+        final TransactionConfiguration transactionConfiguration = configurationInstance.get();
+        final boolean lookupCacheEnabled = transactionConfiguration == null
+            || transactionConfiguration.isLookupCacheEnabled();
+        if (!lookedUp || !lookupCacheEnabled) {
+            simulateLatency(configuration.getLookupLatency());
+            lookedUp = true;
+        }
+    }
+
+    private InMemoryTransaction getTransaction() {
+        final InMemoryTransaction transaction = transactionInstance.get();
+        if (transaction == null) {
+            throw new IllegalStateException("No transaction has been begun.");
+        }
+        return transaction;
+    }
+
+    private InMemoryTransactionConfiguration getConfiguration() {
+        final InMemoryTransactionConfiguration configuration = inMemoryConfigurationInstance.get();
+        return configuration != null ? configuration : DEFAULT_CONFIGURATION;
+    }
+
+    private boolean isFailureInjected(double failureRate) {
+        return failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate;
+    }
+
+    private static void simulateLatency(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while simulating the transaction latency.", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.inmemory.provider;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.jboss.arquillian.test.spi.enricher.resource.ResourceProvider;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Provides the {@link InMemoryTransaction} of the executed test, through {@link ArquillianResource} injection.
+ *
+ * @see InMemoryTransactionProvider
+ */
+public class InMemoryTransactionResourceProvider implements ResourceProvider {
+
+    @Inject
+    private Instance<InMemoryTransaction> transactionInstance;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canProvide(Class<?> type) {
+        return InMemoryTransaction.class.isAssignableFrom(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object lookup(ArquillianResource resource, Annotation... qualifiers) {
+        return transactionInstance.get();
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.inmemory.provider;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
+import org.jboss.arquillian.transaction.inmemory.configuration.InMemoryTransactionConfiguration;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link InMemoryTransactionProvider} class.
+ */
+public class InMemoryTransactionProviderTestCase extends AbstractTestTestBase {
+
+    private final InMemoryTransactionConfiguration configuration = new InMemoryTransactionConfiguration();
+
+    private final TransactionalTest transactionalTest = new DefaultTransactionalTest(null);
+
+    private InMemoryTransactionProvider instance;
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @Before
+    public void setUp() {
+        bind(ApplicationScoped.class, InMemoryTransactionConfiguration.class, configuration);
+        getManager().getContext(TransactionContextImpl.class).activate();
+
+        instance = new InMemoryTransactionProvider();
+        getManager().inject(instance);
+    }
+
+    @After
+    public void tearDown() {
+        getManager().getContext(TransactionContextImpl.class).destroy();
+    }
+
+    @Test
+    public void shouldBeginAndCommitTransaction() {
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        final InMemoryTransaction transaction = getTransaction();
+        instance.commitTransaction(transactionalTest);
+
+        // then
+        assertThat(transaction.getStatus()).isEqualTo(InMemoryTransaction.Status.COMMITTED);
+        assertThat(instance.getBegun()).isEqualTo(1);
+        assertThat(instance.getCommitted()).isEqualTo(1);
+        assertThat(instance.getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRollbackTransaction() {
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        final InMemoryTransaction transaction = getTransaction();
+        instance.rollbackTransaction(transactionalTest);
+
+        // then
+        assertThat(transaction.getStatus()).isEqualTo(InMemoryTransaction.Status.ROLLED_BACK);
+        assertThat(instance.getRolledBack()).isEqualTo(1);
+        assertThat(instance.getCommitted()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldRollbackTransactionMarkedRollbackOnly() {
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        final InMemoryTransaction transaction = getTransaction();
+        instance.setRollbackOnly(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+
+        // then
+        assertThat(transaction.getStatus()).isEqualTo(InMemoryTransaction.Status.ROLLED_BACK);
+        assertThat(instance.getRolledBack()).isEqualTo(1);
+        assertThat(instance.getCommitted()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldRollbackToSavepoint() {
+
+        // given
+        instance.beginTransaction(transactionalTest);
+        final InMemoryTransaction transaction = getTransaction();
+
+        // when
+        instance.setSavepoint(transactionalTest);
+        final int savepointsSet = transaction.getSavepoints();
+        instance.rollbackToSavepoint(transactionalTest);
+
+        // then
+        assertThat(savepointsSet).isEqualTo(1);
+        assertThat(transaction.getSavepoints()).isEqualTo(0);
+        assertThat(transaction.getStatus()).isEqualTo(InMemoryTransaction.Status.ACTIVE);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailRollbackWithoutSavepoint() {
+
+        // given
+        instance.beginTransaction(transactionalTest);
+
+        // when
+        instance.rollbackToSavepoint(transactionalTest);
+    }
+
+    @Test
+    public void shouldTrackEnlistedResources() {
+
+        // given
+        configuration.setEnlistedResources(0);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        final boolean enlistedOnBegin = instance.hasEnlistedResources(transactionalTest);
+        getTransaction().enlistResource();
+
+        // then
+        assertThat(enlistedOnBegin).isFalse();
+        assertThat(instance.hasEnlistedResources(transactionalTest)).isTrue();
+    }
+
+    @Test
+    public void shouldInjectBeginFailure() {
+
+        // given
+        configuration.setBeginFailureRate(1);
+
+        // when
+        try {
+            instance.beginTransaction(transactionalTest);
+            fail("Expecting the simulated failure.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("simulated failure");
+        }
+        assertThat(getTransaction()).isNull();
+        assertThat(instance.getBeginFailed()).isEqualTo(1);
+        assertThat(instance.getBegun()).isEqualTo(0);
+        assertThat(instance.getFailed()).isEqualTo(0);
+        assertThat(instance.getCompleted()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldInjectCommitFailure() {
+
+        // given
+        configuration.setCommitFailureRate(1);
+        instance.beginTransaction(transactionalTest);
+        final InMemoryTransaction transaction = getTransaction();
+
+        // when
+        try {
+            instance.commitTransaction(transactionalTest);
+            fail("Expecting the simulated failure.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("simulated failure");
+        }
+        assertThat(transaction.getStatus()).isEqualTo(InMemoryTransaction.Status.ROLLED_BACK);
+        assertThat(instance.getFailed()).isEqualTo(1);
+        assertThat(instance.getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotInjectFailuresByDefault() {
+
+        // when
+        for (int i = 0; i < 100; i++) {
+            instance.beginTransaction(transactionalTest);
+            instance.commitTransaction(transactionalTest);
+        }
+
+        // then
+        assertThat(instance.getCommitted()).isEqualTo(100);
+        assertThat(instance.getFailed()).isEqualTo(0);
+        assertThat(instance.getBeginFailed()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldSimulateCommitLatencyOfEveryEnlistedResource() {
+
+        // given
+        configuration.setCommitLatency(50);
+        configuration.setEnlistedResources(2);
+        instance.beginTransaction(transactionalTest);
+
+        // when
+        final long start = System.nanoTime();
+        instance.commitTransaction(transactionalTest);
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(elapsed).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    public void shouldSimulateLookupLatencyOnEveryBeginWithoutLookupCache() {
+
+        // given
+        final TransactionConfiguration transactionConfiguration = new TransactionConfiguration();
+        transactionConfiguration.setLookupCacheEnabled(false);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, transactionConfiguration);
+        configuration.setLookupLatency(50);
+
+        // when
+        final long start = System.nanoTime();
+        instance.beginTransaction(transactionalTest);
+        instance.rollbackTransaction(transactionalTest);
+        instance.beginTransaction(transactionalTest);
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(elapsed).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    public void shouldCountTransactionsOfParallelTests() throws Exception {
+
+        // given
+        final int threads = 4;
+        final int transactions = 50;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(new Runnable() {
+                @Override
+                public void run() {
+                    final TransactionContextImpl transactionContext =
+                        getManager().getContext(TransactionContextImpl.class);
+                    transactionContext.activate();
+                    try {
+                        for (int j = 0; j < transactions; j++) {
+                            instance.beginTransaction(transactionalTest);
+                            instance.commitTransaction(transactionalTest);
+                        }
+                    } finally {
+                        transactionContext.destroy();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        // then
+        assertThat(instance.getBegun()).isEqualTo(threads * transactions);
+        assertThat(instance.getCommitted()).isEqualTo(threads * transactions);
+    }
+
+    // -- Private methods
+
+    private InMemoryTransaction getTransaction() {
+        return getManager().resolve(InMemoryTransaction.class);
+    }
+}
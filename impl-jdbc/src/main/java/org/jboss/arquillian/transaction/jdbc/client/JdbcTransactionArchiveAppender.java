@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jdbc.client;
+
+import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
+import org.jboss.arquillian.transaction.impl.client.ClassIndex;
+import org.jboss.arquillian.transaction.impl.client.TransactionProviderArchiveAppender;
+import org.jboss.arquillian.transaction.jdbc.container.JdbcTransactionRemoteExtension;
+import org.jboss.arquillian.transaction.jdbc.provider.JdbcTransactionProvider;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
+/**
+ * An archive appender that packages the JDBC transaction provider.
+ */
+public class JdbcTransactionArchiveAppender extends TransactionProviderArchiveAppender {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Class<? extends RemoteLoadableExtension> getRemoteExtension() {
+        return JdbcTransactionRemoteExtension.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String getArchiveName() {
+        return "arquillian-transaction-impl-jdbc.jar";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addClasses(JavaArchive archive) {
+
+        if (!ClassIndex.addIndexedClasses(archive, "arquillian-transaction-jdbc")) {
+            archive.addPackage(JdbcTransactionRemoteExtension.class.getPackage());
+            archive.addPackage(JdbcTransactionProvider.class.getPackage());
+        }
+    }
+}
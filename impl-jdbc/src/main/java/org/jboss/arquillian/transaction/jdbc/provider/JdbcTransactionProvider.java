@@ -0,0 +1,265 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jdbc.provider;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
+import org.jboss.arquillian.transaction.spi.provider.EnlistmentTrackingTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.LazyTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.SavepointTransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+import javax.naming.Context;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+
+/**
+ * Transaction provider demarcating the transactions directly on a {@link DataSource} connection.
+ * <br />
+ * The connection is obtained with auto-commit disabled when the transaction begins and it is pinned in the
+ * transaction context until the transaction ends, so every statement executed through the injected
+ * {@link Connection} takes part in the transaction. Connections of read only transactions are marked as read only.
+ * <br />
+ * The transaction manager name is used as the JNDI name of the data source. If it hasn't been set, the data
+ * source bound in the Arquillian context is used, falling back to the default data source of the platform.
+ *
+ * @see ConnectionResourceProvider
+ */
+public class JdbcTransactionProvider implements SavepointTransactionProvider, LazyTransactionProvider,
+    EnlistmentTrackingTransactionProvider {
+
+    private static final String DEFAULT_DATA_SOURCE_JNDI_NAME = "java:comp/DefaultDataSource";
+
+    @Inject
+    private Instance<Context> jndiContextInstance;
+
+    @Inject
+    private Instance<DataSource> dataSourceInstance;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<Connection> connectionInstance;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<Savepoint> savepointInstance;
+
+    @Inject
+    private Instance<ResourceUsage> resourceUsageInstance;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<RollbackOnly> rollbackOnlyInstance;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beginTransaction(TransactionalTest transactionalTest) {
+        try {
+            final Connection connection = getDataSource(transactionalTest).getConnection();
+            connectionInstance.set(connection);
+            connection.setAutoCommit(false);
+            if (transactionalTest.isReadOnly()) {
+                connection.setReadOnly(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to start transaction", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commitTransaction(TransactionalTest transactionalTest) {
+        final Connection connection = getBoundConnection("commit the transaction");
+        try {
+            if (rollbackOnlyInstance.get() != null) {
+                connection.rollback();
+            } else {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to commit the transaction.", e);
+        } finally {
+            close(connection);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackTransaction(TransactionalTest transactionalTest) {
+        final Connection connection = connectionInstance.get();
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not rollback the transaction.", e);
+        } finally {
+            close(connection);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * The connection has no rollback only state, so the transaction is rolled back instead of committed once the
+     * test ends.
+     */
+    @Override
+    public void setRollbackOnly(TransactionalTest transactionalTest) {
+        rollbackOnlyInstance.set(new RollbackOnly());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setSavepoint(TransactionalTest transactionalTest) {
+        try {
+            savepointInstance.set(getBoundConnection("set the savepoint").setSavepoint());
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to set the savepoint.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackToSavepoint(TransactionalTest transactionalTest) {
+        final Connection connection = getBoundConnection("rollback to the savepoint");
+        final Savepoint savepoint = savepointInstance.get();
+        try {
+            connection.rollback(savepoint);
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not rollback to the savepoint.", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * The resource is considered enlisted once it has been injected into the test, or once any of its methods has
+     * been invoked by the test if the begin of the transaction has been deferred.
+     */
+    @Override
+    public boolean hasEnlistedResources(TransactionalTest transactionalTest) {
+        final ResourceUsage resourceUsage = resourceUsageInstance.get();
+        return resourceUsage != null && resourceUsage.isUsed();
+    }
+
+    /**
+     * Retrieves the connection bound to the transaction of the current test.
+     *
+     * @param operation
+     *     the operation requiring the connection, used in the error message
+     *
+     * @return the bound connection
+     *
+     * @throws RuntimeException
+     *     if no connection is bound, i.e. the transaction has not been started
+     */
+    private Connection getBoundConnection(String operation) {
+        final Connection connection = connectionInstance.get();
+        if (connection == null) {
+            throw new RuntimeException("Unable to " + operation + ", no connection is bound to the transaction. "
+                + "Has the transaction been started?");
+        }
+        return connection;
+    }
+
+    /**
+     * Retrieves the {@link DataSource} to obtain the connection from.
+     *
+     * @param transactionalTest
+     *     the transaction test
+     *
+     * @return the {@link DataSource}
+     */
+    private DataSource getDataSource(TransactionalTest transactionalTest) {
+        if (transactionalTest.getManager() != null) {
+            return lookupDataSource(transactionalTest.getManager());
+        }
+
+        final DataSource dataSource = dataSourceInstance.get();
+        if (dataSource != null) {
+            return dataSource;
+        }
+
+        return lookupDataSource(DEFAULT_DATA_SOURCE_JNDI_NAME);
+    }
+
+    /**
+     * Looks up the {@link DataSource} in JNDI context.
+     *
+     * @param jndiName
+     *     the JNDI name of the data source
+     *
+     * @return the {@link DataSource}
+     */
+    private DataSource lookupDataSource(String jndiName) {
+
+        try {
+            final Context context = jndiContextInstance.get();
+
+            if (context == null) {
+                throw new RuntimeException("No Naming Context available.");
+            }
+
+            return (DataSource) context.lookup(jndiName);
+        } catch (NamingException e) {
+
+            throw new RuntimeException("Failed obtaining data source using ["
+                + jndiName
+                + "]. Is it registered under this name in your container?", e);
+        }
+    }
+
+    /**
+     * Restores the auto-commit and read-write modes, so the connection is not returned to a pool in
+     * the transactional state, and closes it.
+     */
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (!connection.isClosed()) {
+                try {
+                    connection.setAutoCommit(true);
+                    connection.setReadOnly(false);
+                } finally {
+                    connection.close();
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Unable to close the connection.", e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jdbc.provider;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
+import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
+import org.jboss.arquillian.transaction.spi.provider.PendingTransaction;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link ConnectionResourceProvider} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConnectionResourceProviderTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private DataSource mockDataSource;
+
+    @Mock
+    private Connection mockConnection;
+
+    private final TransactionalTest transactionalTest = new DefaultTransactionalTest(null);
+
+    private JdbcTransactionProvider transactionProvider;
+
+    private ConnectionResourceProvider instance;
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        bind(ApplicationScoped.class, DataSource.class, mockDataSource);
+        getManager().getContext(TransactionContextImpl.class).activate();
+
+        transactionProvider = new JdbcTransactionProvider();
+        getManager().inject(transactionProvider);
+        instance = new ConnectionResourceProvider();
+        getManager().inject(instance);
+
+        when(mockDataSource.getConnection()).thenReturn(mockConnection);
+    }
+
+    @After
+    public void tearDown() {
+        getManager().getContext(TransactionContextImpl.class).destroy();
+    }
+
+    @Test
+    public void shouldProvideConnectionAsIsWithoutDeferredBegin() throws Exception {
+
+        // given
+        transactionProvider.beginTransaction(transactionalTest);
+
+        // when
+        final Object connection = instance.lookup(null);
+
+        // then
+        assertThat(connection).isSameAs(mockConnection);
+        assertThat(transactionProvider.hasEnlistedResources(transactionalTest)).isTrue();
+    }
+
+    @Test
+    public void shouldBeginPendingTransactionOnFirstUse() throws Exception {
+
+        // given
+        bind(TransactionScope.class, PendingTransaction.class, new TestPendingTransaction());
+
+        // when
+        final Connection connection = (Connection) instance.lookup(null);
+        connection.toString();
+        verify(mockDataSource, never()).getConnection();
+        final boolean enlistedBeforeUse = transactionProvider.hasEnlistedResources(transactionalTest);
+        connection.prepareStatement("SELECT 1");
+
+        // then
+        assertThat(enlistedBeforeUse).isFalse();
+        assertThat(transactionProvider.hasEnlistedResources(transactionalTest)).isTrue();
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).prepareStatement("SELECT 1");
+    }
+
+    @Test
+    public void shouldUnwrapConnectionOfDeferredTransaction() throws Exception {
+
+        // given
+        bind(TransactionScope.class, PendingTransaction.class, new TestPendingTransaction());
+        final Connection connection = (Connection) instance.lookup(null);
+
+        // when
+        final Connection vendorConnection = connection.unwrap(mockConnection.getClass());
+
+        // then
+        assertThat(vendorConnection).isSameAs(mockConnection);
+        assertThat(connection.isWrapperFor(mockConnection.getClass())).isTrue();
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection, never()).unwrap(mockConnection.getClass());
+    }
+
+    @Test
+    public void shouldProvideNothingWithoutTransaction() {
+
+        // when
+        final Object connection = instance.lookup(null);
+
+        // then
+        assertThat(connection).isNull();
+    }
+
+    // -- Test doubles
+
+    private final class TestPendingTransaction implements PendingTransaction {
+
+        private boolean begun;
+
+        @Override
+        public void begin() {
+            if (!begun) {
+                begun = true;
+                transactionProvider.beginTransaction(transactionalTest);
+            }
+        }
+
+        @Override
+        public boolean isBegun() {
+            return begun;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jdbc.provider;
+
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link JdbcTransactionProvider} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JdbcTransactionProviderTestCase extends AbstractTestTestBase {
+
+    private static final String DATA_SOURCE_JNDI_NAME = "java:jboss/datasources/TestDS";
+
+    @Mock
+    private javax.naming.Context mockJndiContext;
+
+    @Mock
+    private DataSource mockDataSource;
+
+    @Mock
+    private Connection mockConnection;
+
+    @Mock
+    private Savepoint mockSavepoint;
+
+    private final TransactionalTest transactionalTest = new DefaultTransactionalTest(null);
+
+    private JdbcTransactionProvider instance;
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        bind(ApplicationScoped.class, DataSource.class, mockDataSource);
+        getManager().getContext(TransactionContextImpl.class).activate();
+
+        instance = new JdbcTransactionProvider();
+        getManager().inject(instance);
+
+        when(mockDataSource.getConnection()).thenReturn(mockConnection);
+    }
+
+    @After
+    public void tearDown() {
+        getManager().getContext(TransactionContextImpl.class).destroy();
+    }
+
+    @Test
+    public void shouldBeginAndCommitTransaction() throws Exception {
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+
+        // then
+        InOrder inOrder = inOrder(mockConnection);
+        inOrder.verify(mockConnection).setAutoCommit(false);
+        inOrder.verify(mockConnection).commit();
+        verify(mockConnection, never()).rollback();
+        verify(mockConnection, never()).setReadOnly(true);
+    }
+
+    @Test
+    public void shouldRollbackTransaction() throws Exception {
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.rollbackTransaction(transactionalTest);
+
+        // then
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockConnection).close();
+    }
+
+    @Test
+    public void shouldRollbackTransactionMarkedRollbackOnly() throws Exception {
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.setRollbackOnly(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+
+        // then
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
+    @Test
+    public void shouldRestoreConnectionBeforeClosingIt() throws Exception {
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+
+        // then
+        InOrder inOrder = inOrder(mockConnection);
+        inOrder.verify(mockConnection).commit();
+        inOrder.verify(mockConnection).setAutoCommit(true);
+        inOrder.verify(mockConnection).setReadOnly(false);
+        inOrder.verify(mockConnection).close();
+    }
+
+    @Test
+    public void shouldCloseConnectionWhenItCannotBeRestored() throws Exception {
+
+        // given
+        doThrow(new SQLException("Restore failure.")).when(mockConnection).setAutoCommit(true);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        try {
+            instance.commitTransaction(transactionalTest);
+            fail("Expecting the restore failure to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getCause()).isInstanceOf(SQLException.class);
+        }
+        verify(mockConnection).close();
+    }
+
+    @Test
+    public void shouldMarkConnectionOfReadOnlyTransaction() throws Exception {
+
+        // when
+        instance.beginTransaction(new DefaultTransactionalTest(null, 0, true));
+
+        // then
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).setReadOnly(true);
+    }
+
+    @Test
+    public void shouldRollbackToSavepoint() throws Exception {
+
+        // given
+        when(mockConnection.setSavepoint()).thenReturn(mockSavepoint);
+        instance.beginTransaction(transactionalTest);
+
+        // when
+        instance.setSavepoint(transactionalTest);
+        instance.rollbackToSavepoint(transactionalTest);
+
+        // then
+        InOrder inOrder = inOrder(mockConnection);
+        inOrder.verify(mockConnection).setSavepoint();
+        inOrder.verify(mockConnection).rollback(mockSavepoint);
+        inOrder.verify(mockConnection).releaseSavepoint(mockSavepoint);
+        verify(mockConnection, never()).close();
+    }
+
+    @Test
+    public void shouldLookupDataSourceOfManager() throws Exception {
+
+        // given
+        bind(ApplicationScoped.class, javax.naming.Context.class, mockJndiContext);
+        when(mockJndiContext.lookup(DATA_SOURCE_JNDI_NAME)).thenReturn(mockDataSource);
+
+        // when
+        instance.beginTransaction(new DefaultTransactionalTest(DATA_SOURCE_JNDI_NAME));
+
+        // then
+        verify(mockJndiContext).lookup(DATA_SOURCE_JNDI_NAME);
+        verify(mockConnection).setAutoCommit(false);
+    }
+
+    @Test
+    public void shouldFailCommitWithoutTransaction() throws Exception {
+
+        // when
+        try {
+            instance.commitTransaction(transactionalTest);
+            fail("Expecting the missing transaction to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("no connection");
+        }
+        verify(mockConnection, never()).setAutoCommit(anyBoolean());
+    }
+
+    @Test
+    public void shouldFailSavepointWithoutTransaction() throws Exception {
+
+        // when
+        try {
+            instance.setSavepoint(transactionalTest);
+            fail("Expecting the missing transaction to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("set the savepoint").contains("no connection");
+        }
+        verify(mockConnection, never()).setSavepoint();
+    }
+
+    @Test
+    public void shouldIgnoreRollbackWithoutTransaction() throws Exception {
+
+        // when
+        instance.rollbackTransaction(transactionalTest);
+
+        // then
+        verify(mockDataSource, never()).getConnection();
+        verify(mockConnection, never()).rollback(any(Savepoint.class));
+    }
+}
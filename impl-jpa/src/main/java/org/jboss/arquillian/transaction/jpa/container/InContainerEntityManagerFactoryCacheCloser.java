@@ -0,0 +1,38 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jpa.container;
+
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.transaction.jpa.provider.EntityManagerFactoryCache;
+
+/**
+ * Closes the cached entity manager factories created in the container.
+ * <br />
+ * No undeploy event is fired in the container, where Arquillian is bootstrapped for every executed test. The
+ * factories are therefore closed once the in-container run of the test ends, so none of them outlives the
+ * deployment and pins its class loader.
+ *
+ * @see org.jboss.arquillian.transaction.jpa.client.EntityManagerFactoryCacheCloser
+ */
+public class InContainerEntityManagerFactoryCacheCloser {
+
+    public void closeAfterSuite(@Observes AfterSuite afterSuite) {
+        EntityManagerFactoryCache.getInstance().close();
+    }
+}
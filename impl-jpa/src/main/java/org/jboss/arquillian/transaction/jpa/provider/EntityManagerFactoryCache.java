@@ -0,0 +1,85 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jpa.provider;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the {@link EntityManagerFactory} instances, keyed by the persistence unit name.
+ * <br />
+ * Creating the factory bootstraps the persistence provider, so it is done once per persistence unit. As the
+ * {@code UserTransaction} cache of the JTA provider, the cache is held by the class loader of this extension
+ * rather than by Arquillian context. On the client side it spans the deployment, while in the container, which
+ * fires no undeploy event, it is closed once the run of each test ends.
+ *
+ * @see org.jboss.arquillian.transaction.jpa.client.EntityManagerFactoryCacheCloser
+ * @see org.jboss.arquillian.transaction.jpa.container.InContainerEntityManagerFactoryCacheCloser
+ */
+public final class EntityManagerFactoryCache {
+
+    private static final EntityManagerFactoryCache INSTANCE = new EntityManagerFactoryCache();
+
+    private final ConcurrentMap<String, EntityManagerFactory> entityManagerFactories =
+        new ConcurrentHashMap<String, EntityManagerFactory>();
+
+    private EntityManagerFactoryCache() {
+        // use getInstance()
+    }
+
+    public static EntityManagerFactoryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieves the factory of the given persistence unit, creating it first if it hasn't been cached yet.
+     *
+     * @param persistenceUnitName
+     *     the persistence unit name
+     *
+     * @return the entity manager factory
+     */
+    public EntityManagerFactory get(String persistenceUnitName) {
+        EntityManagerFactory entityManagerFactory = entityManagerFactories.get(persistenceUnitName);
+        if (entityManagerFactory == null || !entityManagerFactory.isOpen()) {
+            synchronized (this) {
+                entityManagerFactory = entityManagerFactories.get(persistenceUnitName);
+                if (entityManagerFactory == null || !entityManagerFactory.isOpen()) {
+                    entityManagerFactory = Persistence.createEntityManagerFactory(persistenceUnitName);
+                    entityManagerFactories.put(persistenceUnitName, entityManagerFactory);
+                }
+            }
+        }
+        return entityManagerFactory;
+    }
+
+    /**
+     * Closes and removes all cached factories.
+     */
+    public synchronized void close() {
+        for (EntityManagerFactory entityManagerFactory : entityManagerFactories.values()) {
+            if (entityManagerFactory.isOpen()) {
+                entityManagerFactory.close();
+            }
+        }
+        entityManagerFactories.clear();
+    }
+}
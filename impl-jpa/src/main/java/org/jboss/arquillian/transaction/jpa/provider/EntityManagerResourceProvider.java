@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jpa.provider;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.jboss.arquillian.test.spi.enricher.resource.ResourceProvider;
+import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
+import org.jboss.arquillian.transaction.spi.provider.PendingTransaction;
+import org.jboss.arquillian.transaction.spi.provider.TransactionalResourceProxy;
+
+import jakarta.persistence.EntityManager;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Provides the {@link EntityManager} taking part in the transaction of the executed test, through
+ * {@link ArquillianResource} injection.
+ * <br />
+ * If the begin of the transaction has been deferred, the {@link EntityManager} is provided as a proxy, which begins it
+ * and records that the test has used the resource on the first invocation of any of its methods. Otherwise the
+ * resource is provided as is and it counts as used once it has been injected.
+ *
+ * @see JpaTransactionProvider
+ */
+public class EntityManagerResourceProvider implements ResourceProvider {
+
+    @Inject
+    private Instance<EntityManager> entityManagerInstance;
+
+    @Inject
+    private Instance<PendingTransaction> pendingTransactionInstance;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<ResourceUsage> resourceUsageProducer;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canProvide(Class<?> type) {
+        return EntityManager.class.isAssignableFrom(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object lookup(ArquillianResource resource, Annotation... qualifiers) {
+        final PendingTransaction pendingTransaction = pendingTransactionInstance.get();
+        if (pendingTransaction == null || pendingTransaction.isBegun()) {
+            final EntityManager entityManager = entityManagerInstance.get();
+            if (entityManager != null) {
+                getResourceUsage().markUsed();
+            }
+            return entityManager;
+        }
+
+        // the enrichment precedes the test, so the usage is marked and the deferred begin is done once it is invoked
+        final ResourceUsage resourceUsage = getResourceUsage();
+        return new TransactionalResourceProxy<EntityManager>(EntityManager.class, pendingTransaction) {
+            @Override
+            protected EntityManager resolveResource() {
+                resourceUsage.markUsed();
+                return entityManagerInstance.get();
+            }
+        }.createProxy();
+    }
+
+    // -- Private methods
+
+    private ResourceUsage getResourceUsage() {
+        ResourceUsage resourceUsage = resourceUsageProducer.get();
+        if (resourceUsage == null) {
+            resourceUsage = new ResourceUsage();
+            resourceUsageProducer.set(resourceUsage);
+        }
+        return resourceUsage;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jpa.provider;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
+import org.jboss.arquillian.transaction.spi.provider.EnlistmentTrackingTransactionProvider;
+import org.jboss.arquillian.transaction.spi.provider.LazyTransactionProvider;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.FlushModeType;
+
+/**
+ * Transaction provider driving the resource local {@link EntityTransaction} of an {@link EntityManager}.
+ * <br />
+ * The transaction manager name is used as the persistence unit name. The entity manager is created for every
+ * transaction and stored in the transaction context, so it can be injected into the test.
+ *
+ * @see EntityManagerResourceProvider
+ */
+public class JpaTransactionProvider implements LazyTransactionProvider,
+    EnlistmentTrackingTransactionProvider {
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<EntityManager> entityManagerInstance;
+
+    @Inject
+    private Instance<ResourceUsage> resourceUsageInstance;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void beginTransaction(TransactionalTest transactionalTest) {
+        final String persistenceUnitName = getPersistenceUnitName(transactionalTest);
+        try {
+            final EntityManager entityManager =
+                EntityManagerFactoryCache.getInstance().get(persistenceUnitName).createEntityManager();
+            entityManagerInstance.set(entityManager);
+            if (transactionalTest.isReadOnly()) {
+                // the read only transactions are rolled back, so the changes are never flushed
+                entityManager.setFlushMode(FlushModeType.COMMIT);
+            }
+            entityManager.getTransaction().begin();
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to start transaction for persistence unit ["
+                + persistenceUnitName + "].", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commitTransaction(TransactionalTest transactionalTest) {
+        final EntityManager entityManager = entityManagerInstance.get();
+        if (entityManager == null) {
+            throw new RuntimeException("Unable to commit the transaction, no entity manager is bound to it. "
+                + "Has the transaction been started?");
+        }
+        try {
+            final EntityTransaction transaction = entityManager.getTransaction();
+            if (transaction.getRollbackOnly()) {
+                transaction.rollback();
+            } else {
+                transaction.commit();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to commit the transaction.", e);
+        } finally {
+            close(entityManager);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rollbackTransaction(TransactionalTest transactionalTest) {
+        final EntityManager entityManager = entityManagerInstance.get();
+        try {
+            if (entityManager != null && entityManager.isOpen() && entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Could not rollback the transaction.", e);
+        } finally {
+            close(entityManager);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setRollbackOnly(TransactionalTest transactionalTest) {
+        final EntityManager entityManager = entityManagerInstance.get();
+        if (entityManager != null && entityManager.isOpen() && entityManager.getTransaction().isActive()) {
+            entityManager.getTransaction().setRollbackOnly();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * The resource is considered enlisted once it has been injected into the test, or once any of its methods has
+     * been invoked by the test if the begin of the transaction has been deferred.
+     */
+    @Override
+    public boolean hasEnlistedResources(TransactionalTest transactionalTest) {
+        final ResourceUsage resourceUsage = resourceUsageInstance.get();
+        return resourceUsage != null && resourceUsage.isUsed();
+    }
+
+    private String getPersistenceUnitName(TransactionalTest transactionalTest) {
+        if (transactionalTest.getManager() == null) {
+            throw new RuntimeException("The persistence unit name has to be set as the transaction manager, "
+                + "either through @Transactional(manager = ...) or the extension configuration.");
+        }
+
+        return transactionalTest.getManager();
+    }
+
+    private static void close(EntityManager entityManager) {
+        if (entityManager != null && entityManager.isOpen()) {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jpa.provider;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.spi.PersistenceProvider;
+import jakarta.persistence.spi.PersistenceProviderResolver;
+import jakarta.persistence.spi.PersistenceProviderResolverHolder;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link JpaTransactionProvider} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JpaTransactionProviderTestCase extends AbstractTestTestBase {
+
+    private static final String PERSISTENCE_UNIT_NAME = "test-unit";
+
+    @Mock
+    private PersistenceProvider mockPersistenceProvider;
+
+    @Mock
+    private EntityManagerFactory mockEntityManagerFactory;
+
+    @Mock
+    private EntityManager mockEntityManager;
+
+    @Mock
+    private EntityTransaction mockEntityTransaction;
+
+    private JpaTransactionProvider instance;
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @Before
+    public void setUp() {
+        PersistenceProviderResolverHolder.setPersistenceProviderResolver(new TestPersistenceProviderResolver());
+        getManager().getContext(TransactionContextImpl.class).activate();
+
+        instance = new JpaTransactionProvider();
+        getManager().inject(instance);
+
+        when(mockPersistenceProvider.createEntityManagerFactory(eq(PERSISTENCE_UNIT_NAME), any()))
+            .thenReturn(mockEntityManagerFactory);
+        when(mockEntityManagerFactory.createEntityManager()).thenReturn(mockEntityManager);
+        when(mockEntityManager.getTransaction()).thenReturn(mockEntityTransaction);
+    }
+
+    @After
+    public void tearDown() {
+        getManager().getContext(TransactionContextImpl.class).destroy();
+        EntityManagerFactoryCache.getInstance().close();
+        PersistenceProviderResolverHolder.setPersistenceProviderResolver(null);
+    }
+
+    @Test
+    public void shouldBeginAndCommitTransaction() {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(PERSISTENCE_UNIT_NAME);
+        when(mockEntityManager.isOpen()).thenReturn(true);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+
+        // then
+        InOrder inOrder = inOrder(mockEntityTransaction, mockEntityManager);
+        inOrder.verify(mockEntityTransaction).begin();
+        inOrder.verify(mockEntityTransaction).commit();
+        inOrder.verify(mockEntityManager).close();
+        verify(mockEntityManager, never()).setFlushMode(any(FlushModeType.class));
+    }
+
+    @Test
+    public void shouldRollbackTransaction() {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(PERSISTENCE_UNIT_NAME);
+        when(mockEntityManager.isOpen()).thenReturn(true);
+        when(mockEntityTransaction.isActive()).thenReturn(true);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.rollbackTransaction(transactionalTest);
+
+        // then
+        verify(mockEntityTransaction).rollback();
+        verify(mockEntityTransaction, never()).commit();
+        verify(mockEntityManager).close();
+    }
+
+    @Test
+    public void shouldRollbackTransactionMarkedRollbackOnly() {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(PERSISTENCE_UNIT_NAME, 10);
+        when(mockEntityManager.isOpen()).thenReturn(true);
+        when(mockEntityTransaction.isActive()).thenReturn(true);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.setRollbackOnly(transactionalTest);
+        when(mockEntityTransaction.getRollbackOnly()).thenReturn(true);
+        instance.commitTransaction(transactionalTest);
+
+        // then
+        verify(mockEntityTransaction).setRollbackOnly();
+        verify(mockEntityTransaction).rollback();
+        verify(mockEntityTransaction, never()).commit();
+    }
+
+    @Test
+    public void shouldNotFlushReadOnlyTransaction() {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(PERSISTENCE_UNIT_NAME, 0, true);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+
+        // then
+        InOrder inOrder = inOrder(mockEntityManager, mockEntityTransaction);
+        inOrder.verify(mockEntityManager).setFlushMode(FlushModeType.COMMIT);
+        inOrder.verify(mockEntityTransaction).begin();
+    }
+
+    @Test
+    public void shouldReuseEntityManagerFactoryOfPersistenceUnit() {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(PERSISTENCE_UNIT_NAME);
+        when(mockEntityManagerFactory.isOpen()).thenReturn(true);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.beginTransaction(transactionalTest);
+
+        // then
+        verify(mockPersistenceProvider).createEntityManagerFactory(eq(PERSISTENCE_UNIT_NAME), any());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void shouldRequirePersistenceUnitName() {
+
+        // when
+        instance.beginTransaction(new DefaultTransactionalTest(null));
+    }
+
+    @Test
+    public void shouldFailCommitWithoutTransaction() {
+
+        // when
+        try {
+            instance.commitTransaction(new DefaultTransactionalTest(PERSISTENCE_UNIT_NAME));
+            fail("Expecting the missing transaction to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("no entity manager");
+        }
+    }
+
+    // -- Test doubles
+
+    private final class TestPersistenceProviderResolver implements PersistenceProviderResolver {
+
+        @Override
+        public List<PersistenceProvider> getPersistenceProviders() {
+            return Collections.singletonList(mockPersistenceProvider);
+        }
+
+        @Override
+        public void clearCachedProviders() {
+        }
+    }
+}
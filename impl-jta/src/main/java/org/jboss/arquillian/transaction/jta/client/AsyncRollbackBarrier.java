@@ -0,0 +1,37 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jta.client;
+
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.transaction.jta.provider.AsyncRollbackExecutor;
+
+/**
+ * Waits for the rollbacks executed in background at the end of the test suite and stops the thread executing
+ * them. The first failed rollback is reported against the test owning the transaction.
+ * <br />
+ * The rollbacks are executed in background on the client side only, since the in-container test execution
+ * replays the test suite life cycle for every test. The barrier covers the rollbacks scheduled in the same JVM,
+ * like with the embedded containers.
+ */
+public class AsyncRollbackBarrier {
+
+    public void awaitRollbacks(@Observes(precedence = 100) AfterSuite afterSuite) {
+        AsyncRollbackExecutor.getInstance().shutdown();
+    }
+}
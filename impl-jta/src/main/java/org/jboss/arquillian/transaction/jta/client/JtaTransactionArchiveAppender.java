@@ -18,11 +18,10 @@
 package org.jboss.arquillian.transaction.jta.client;
 
 import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
-import org.jboss.arquillian.container.test.spi.client.deployment.AuxiliaryArchiveAppender;
+import org.jboss.arquillian.transaction.impl.client.ClassIndex;
+import org.jboss.arquillian.transaction.impl.client.TransactionProviderArchiveAppender;
 import org.jboss.arquillian.transaction.jta.container.JtaTransactionRemoteExtension;
 import org.jboss.arquillian.transaction.jta.provider.JtaTransactionProvider;
-import org.jboss.shrinkwrap.api.Archive;
-import org.jboss.shrinkwrap.api.ShrinkWrap;
 import org.jboss.shrinkwrap.api.spec.JavaArchive;
 
 /**
@@ -30,21 +29,33 @@ import org.jboss.shrinkwrap.api.spec.JavaArchive;
  *
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
-public class JtaTransactionArchiveAppender implements AuxiliaryArchiveAppender {
+public class JtaTransactionArchiveAppender extends TransactionProviderArchiveAppender {
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public Archive<?> createAuxiliaryArchive() {
-
-        JavaArchive archive = ShrinkWrap.create(JavaArchive.class, "arquillian-transaction-impl-jta.jar");
+    public Class<? extends RemoteLoadableExtension> getRemoteExtension() {
+        return JtaTransactionRemoteExtension.class;
+    }
 
-        archive.addPackage(JtaTransactionRemoteExtension.class.getPackage());
-        archive.addPackage(JtaTransactionProvider.class.getPackage());
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected String getArchiveName() {
+        return "arquillian-transaction-impl-jta.jar";
+    }
 
-        archive.addAsServiceProvider(RemoteLoadableExtension.class, JtaTransactionRemoteExtension.class);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void addClasses(JavaArchive archive) {
 
-        return archive;
+        if (!ClassIndex.addIndexedClasses(archive, "arquillian-transaction-jta")) {
+            archive.addPackage(JtaTransactionRemoteExtension.class.getPackage());
+            archive.addPackage(JtaTransactionProvider.class.getPackage());
+        }
     }
 }
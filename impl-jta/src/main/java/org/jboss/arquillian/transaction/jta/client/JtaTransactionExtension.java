@@ -19,6 +19,7 @@ package org.jboss.arquillian.transaction.jta.client;
 
 import org.jboss.arquillian.container.test.spi.client.deployment.AuxiliaryArchiveAppender;
 import org.jboss.arquillian.core.spi.LoadableExtension;
+import org.jboss.arquillian.transaction.impl.client.TransactionArchiveContributor;
 
 /**
  * Register the extension.
@@ -34,5 +35,8 @@ public class JtaTransactionExtension implements LoadableExtension {
     public void register(ExtensionBuilder builder) {
 
         builder.service(AuxiliaryArchiveAppender.class, JtaTransactionArchiveAppender.class);
+        builder.service(TransactionArchiveContributor.class, JtaTransactionArchiveAppender.class);
+        builder.observer(UserTransactionCacheInvalidator.class);
+        builder.observer(AsyncRollbackBarrier.class);
     }
 }
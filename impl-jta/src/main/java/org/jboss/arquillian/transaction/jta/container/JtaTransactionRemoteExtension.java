@@ -18,7 +18,9 @@
 package org.jboss.arquillian.transaction.jta.container;
 
 import org.jboss.arquillian.container.test.spi.RemoteLoadableExtension;
+import org.jboss.arquillian.test.spi.enricher.resource.ResourceProvider;
 import org.jboss.arquillian.transaction.jta.provider.JtaTransactionProvider;
+import org.jboss.arquillian.transaction.jta.provider.TransactionPropagatingExecutorResourceProvider;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
 
 /**
@@ -35,5 +37,7 @@ public class JtaTransactionRemoteExtension implements RemoteLoadableExtension {
     public void register(ExtensionBuilder builder) {
 
         builder.service(TransactionProvider.class, JtaTransactionProvider.class);
+        builder.service(ResourceProvider.class, TransactionPropagatingExecutorResourceProvider.class);
+        builder.observer(InContainerUserTransactionCacheInvalidator.class);
     }
 }
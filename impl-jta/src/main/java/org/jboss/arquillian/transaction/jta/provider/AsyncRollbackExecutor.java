@@ -0,0 +1,152 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jta.provider;
+
+import jakarta.transaction.Transaction;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Rolls back the suspended transactions in background, so the test thread does not wait for them.
+ * <br />
+ * The queue of the pending rollbacks is bounded. Once it is full, the rollback is executed by the submitting
+ * thread, which slows the tests down to the pace of the rollbacks. Every rollback failure is logged with the
+ * test owning the transaction and the first one is reported by {@link #awaitCompletion()}.
+ * <br />
+ * As the {@link UserTransactionCache}, the executor is held by the class loader of this extension. Its thread is
+ * started on the first rollback and stopped by {@link #shutdown()}, so it does not pin the class loader.
+ *
+ * @see org.jboss.arquillian.transaction.jta.client.AsyncRollbackBarrier
+ */
+public final class AsyncRollbackExecutor {
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncRollbackExecutor.class.getName());
+
+    private static final int QUEUE_CAPACITY = 32;
+
+    private static final AsyncRollbackExecutor INSTANCE = new AsyncRollbackExecutor();
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<RuntimeException>();
+
+    private ThreadPoolExecutor executor;
+
+    private AsyncRollbackExecutor() {
+        // use getInstance()
+    }
+
+    public static AsyncRollbackExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Schedules the rollback of the given transaction, which has to be already disassociated from the thread.
+     *
+     * @param transaction
+     *     the suspended transaction
+     * @param testName
+     *     the name of the test owning the transaction, used to report the failure of the rollback
+     */
+    public synchronized void rollback(final Transaction transaction, final String testName) {
+        pending.incrementAndGet();
+        if (executor == null) {
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(QUEUE_CAPACITY), new RollbackThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        // the executor is not shut down while the rollback is submitted, so the caller runs it if the queue is full
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    transaction.rollback();
+                } catch (Exception e) {
+                    final String message = "Could not rollback the transaction of test " + testName + ".";
+                    LOGGER.warning(message + " " + e);
+                    failure.compareAndSet(null, new RuntimeException(message, e));
+                } finally {
+                    synchronized (pending) {
+                        if (pending.decrementAndGet() == 0) {
+                            pending.notifyAll();
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits until all the scheduled rollbacks have been executed.
+     *
+     * @throws RuntimeException
+     *     if any of the rollbacks has failed since the last call
+     */
+    public void awaitCompletion() {
+        synchronized (pending) {
+            while (pending.get() > 0) {
+                try {
+                    pending.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for the pending rollbacks.", e);
+                }
+            }
+        }
+        final RuntimeException e = failure.getAndSet(null);
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Waits until all the scheduled rollbacks have been executed and stops the thread executing them. The thread
+     * is started again by the next rollback.
+     *
+     * @throws RuntimeException
+     *     if any of the rollbacks has failed since the last call of {@link #awaitCompletion()}
+     */
+    public void shutdown() {
+        try {
+            awaitCompletion();
+        } finally {
+            synchronized (this) {
+                if (executor != null) {
+                    executor.shutdown();
+                    executor = null;
+                }
+            }
+        }
+    }
+
+    private static final class RollbackThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "arquillian-transaction-rollback");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.jboss.arquillian.transaction.jta.provider;
 import org.jboss.arquillian.core.api.Instance;
 import org.jboss.arquillian.core.api.InstanceProducer;
 import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
 import org.jboss.arquillian.transaction.spi.annotation.TransactionScope;
 import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
 import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
@@ -28,19 +29,39 @@ import javax.naming.Context;
 import javax.naming.NamingException;
 import jakarta.transaction.Status;
 import jakarta.transaction.SystemException;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
 import jakarta.transaction.UserTransaction;
 
 public class JtaTransactionProvider implements TransactionProvider {
 
     private static final String DEFAULT_TRANSACTION_JNDI_NAME = "java:comp/UserTransaction";
 
+    /**
+     * The JNDI names the containers bind the {@link TransactionManager} under, since it is not standardized.
+     */
+    private static final String[] TRANSACTION_MANAGER_JNDI_NAMES = {
+        "java:/TransactionManager", "java:jboss/TransactionManager", "java:appserver/TransactionManager",
+        "java:comp/TransactionManager"};
+
     @Inject
     private Instance<Context> jndiContextInstance;
 
+    @Inject
+    private Instance<TransactionConfiguration> configurationInstance;
+
     @Inject
     @TransactionScope
     private InstanceProducer<UserTransaction> userTransactionInstance;
 
+    @Inject
+    @TransactionScope
+    private InstanceProducer<Transaction> transactionInstance;
+
+    @Inject
+    @TransactionScope
+    private InstanceProducer<TransactionPropagatingExecutorService> executorServiceInstance;
+
     /**
      * {@inheritDoc}
      */
@@ -50,7 +71,12 @@ public class JtaTransactionProvider implements TransactionProvider {
             final UserTransaction transaction = getUserTransaction(transactionalTest);
             userTransactionInstance.set(transaction);
             if (isTransactionNotActive(transaction)) {
+                // 0 restores the default timeout, which has to be done since the timeout is kept by the thread
+                transaction.setTransactionTimeout(transactionalTest.getTimeout());
                 transaction.begin();
+                if (transactionalTest.getTimeout() > 0) {
+                    keepTransaction();
+                }
             }
         } catch (Exception e) {
             throw new RuntimeException("Unable to start transaction", e);
@@ -62,36 +88,124 @@ public class JtaTransactionProvider implements TransactionProvider {
      */
     @Override
     public void commitTransaction(TransactionalTest transactionalTest) {
+        final UserTransaction transaction = userTransactionInstance.get();
+        boolean completed = false;
         try {
-            final UserTransaction transaction = userTransactionInstance.get();
+            terminateExecutorService(transactionalTest);
             if (isTransactionMarkedToRollback(transaction)) {
                 transaction.rollback();
             } else {
                 transaction.commit();
             }
+            completed = true;
         } catch (Exception e) {
             throw new RuntimeException("Unable to commit the transaction.", e);
+        } finally {
+            if (!completed) {
+                rollbackIfActive(transaction);
+            }
         }
     }
 
     /**
      * {@inheritDoc}
+     * <br />
+     * The transaction is rolled back even if the tasks of the executor could not be completed in time.
      */
     @Override
     public void rollbackTransaction(TransactionalTest transactionalTest) {
         try {
-            final UserTransaction userTransaction = userTransactionInstance.get();
+            terminateExecutorService(transactionalTest);
+        } finally {
+            try {
+                final UserTransaction userTransaction = userTransactionInstance.get();
 
-            if (userTransaction != null) {
-                userTransaction.rollback();
+                if (userTransaction != null
+                    && !rollbackAsynchronously(userTransaction, transactionalTest.getTestName())) {
+                    userTransaction.rollback();
+                }
+            } catch (Exception e) {
+                throw new RuntimeException("Could not rollback the transaction.", e);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <br />
+     * The {@link UserTransaction} is bound to the test thread, so the transaction kept on begin is marked instead.
+     * Nothing is done if the {@link TransactionManager} could not be found.
+     */
+    @Override
+    public void setRollbackOnly(TransactionalTest transactionalTest) {
+        final Transaction transaction = transactionInstance.get();
+        if (transaction == null) {
+            return;
+        }
+        try {
+            transaction.setRollbackOnly();
+        } catch (SystemException e) {
+            throw new RuntimeException("Unable to mark the transaction rollback only.", e);
+        }
+    }
+
+    /**
+     * Retrieves the executor running the tasks in the current transaction, so the test can spread its work across
+     * several threads. The executor is created on the first call and it is shut down before the transaction is
+     * completed, waiting for the submitted tasks at most for the transaction timeout.
+     *
+     * @return the {@link TransactionPropagatingExecutorService} bound to the current transaction
+     *
+     * @throws RuntimeException
+     *     if no transaction is active or the {@link TransactionManager} can not be found
+     */
+    public TransactionPropagatingExecutorService getExecutorService() {
+        TransactionPropagatingExecutorService executorService = executorServiceInstance.get();
+        if (executorService != null) {
+            return executorService;
+        }
+
+        final TransactionManager transactionManager = lookupTransactionManager();
+        if (transactionManager == null) {
+            throw new RuntimeException("Unable to propagate the transaction, no TransactionManager has been found.");
+        }
+        try {
+            final Transaction transaction = transactionManager.getTransaction();
+            if (transaction == null) {
+                throw new RuntimeException("Unable to propagate the transaction, no transaction is active.");
+            }
+            executorService = new TransactionPropagatingExecutorService(transactionManager, transaction,
+                Runtime.getRuntime().availableProcessors());
+        } catch (SystemException e) {
+            throw new RuntimeException("Unable to propagate the transaction.", e);
+        }
+        executorServiceInstance.set(executorService);
+        return executorService;
+    }
+
+    /**
+     * Rolls back the transaction which could not be completed, so it does not stay associated with the thread.
+     * The failure of the rollback is not reported, since it would hide the original one.
+     */
+    private void rollbackIfActive(UserTransaction transaction) {
+        try {
+            if (transaction != null && !isTransactionNotActive(transaction)) {
+                transaction.rollback();
             }
         } catch (Exception e) {
-            throw new RuntimeException("Could not rollback the transaction.", e);
+            // the original failure is reported
+        }
+    }
+
+    private void terminateExecutorService(TransactionalTest transactionalTest) {
+        final TransactionPropagatingExecutorService executorService = executorServiceInstance.get();
+        if (executorService != null) {
+            executorService.terminate(transactionalTest.getTimeout());
         }
     }
 
     /**
-     * Retrieves the {@link UserTransaction} from JNDI context.
+     * Retrieves the {@link UserTransaction} from the {@link UserTransactionCache} or JNDI context.
      *
      * @param transactionalTest
      *     the transaction test
@@ -102,6 +216,29 @@ public class JtaTransactionProvider implements TransactionProvider {
 
         final String jndiName = getJtaTransactionJndiName(transactionalTest);
 
+        if (!isLookupCacheEnabled()) {
+            return lookupUserTransaction(jndiName);
+        }
+
+        final UserTransactionCache userTransactionCache = UserTransactionCache.getInstance();
+        UserTransaction userTransaction = userTransactionCache.get(jndiName);
+        if (userTransaction == null) {
+            userTransaction = lookupUserTransaction(jndiName);
+            userTransactionCache.put(jndiName, userTransaction);
+        }
+        return userTransaction;
+    }
+
+    /**
+     * Looks up the {@link UserTransaction} in JNDI context.
+     *
+     * @param jndiName
+     *     the JNDI name of the transaction
+     *
+     * @return the {@link UserTransaction}
+     */
+    private UserTransaction lookupUserTransaction(String jndiName) {
+
         try {
             final Context context = jndiContextInstance.get();
 
@@ -118,6 +255,92 @@ public class JtaTransactionProvider implements TransactionProvider {
         }
     }
 
+    /**
+     * Suspends the transaction and schedules its rollback in {@link AsyncRollbackExecutor}, if it has been enabled
+     * and the {@link TransactionManager} can be found.
+     *
+     * @param userTransaction
+     *     the current transaction
+     * @param testName
+     *     the name of the test owning the transaction
+     *
+     * @return true if the rollback has been scheduled, false if it has to be executed by the caller
+     */
+    private boolean rollbackAsynchronously(UserTransaction userTransaction, String testName)
+        throws SystemException {
+        if (!isAsyncRollbackEnabled() || isTransactionNotActive(userTransaction)) {
+            return false;
+        }
+
+        final TransactionManager transactionManager = lookupTransactionManager();
+        if (transactionManager == null) {
+            return false;
+        }
+
+        final Transaction transaction = transactionManager.suspend();
+        if (transaction == null) {
+            return false;
+        }
+        AsyncRollbackExecutor.getInstance().rollback(transaction, testName);
+        return true;
+    }
+
+    /**
+     * Keeps the begun transaction, so it can be marked rollback only from another thread once it exceeds its
+     * timeout.
+     */
+    private void keepTransaction() throws SystemException {
+        final TransactionManager transactionManager = lookupTransactionManager();
+        if (transactionManager != null) {
+            transactionInstance.set(transactionManager.getTransaction());
+        }
+    }
+
+    /**
+     * Retrieves the {@link TransactionManager} from the {@link UserTransactionCache} or JNDI context.
+     *
+     * @return the {@link TransactionManager} or null if it could not be found
+     */
+    private TransactionManager lookupTransactionManager() {
+        final Context context = jndiContextInstance.get();
+        if (context == null) {
+            return null;
+        }
+
+        if (!isLookupCacheEnabled()) {
+            return lookupTransactionManager(context);
+        }
+
+        final UserTransactionCache userTransactionCache = UserTransactionCache.getInstance();
+        if (!userTransactionCache.isTransactionManagerResolved()) {
+            userTransactionCache.putTransactionManager(lookupTransactionManager(context));
+        }
+        return userTransactionCache.getTransactionManager();
+    }
+
+    private TransactionManager lookupTransactionManager(Context context) {
+        for (String jndiName : TRANSACTION_MANAGER_JNDI_NAMES) {
+            try {
+                return (TransactionManager) context.lookup(jndiName);
+            } catch (NamingException e) {
+                // tries the next name
+            } catch (ClassCastException e) {
+                // tries the next name
+            }
+        }
+        return null;
+    }
+
+    private boolean isAsyncRollbackEnabled() {
+        final TransactionConfiguration configuration = configurationInstance.get();
+        return configuration != null && configuration.isAsyncRollbackEnabled();
+    }
+
+    private boolean isLookupCacheEnabled() {
+        final TransactionConfiguration configuration = configurationInstance.get();
+        return configuration == null || configuration.isLookupCacheEnabled();
+    }
+
     private String getJtaTransactionJndiName(TransactionalTest transactionalTest) {
         if (transactionalTest.getManager() != null) {
             return transactionalTest.getManager();
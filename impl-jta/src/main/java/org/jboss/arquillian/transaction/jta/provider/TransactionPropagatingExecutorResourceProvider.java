@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jta.provider;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.api.ArquillianResource;
+import org.jboss.arquillian.test.spi.enricher.resource.ResourceProvider;
+import org.jboss.arquillian.transaction.spi.provider.TransactionProvider;
+
+import jakarta.transaction.UserTransaction;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.Executor;
+
+/**
+ * Provides the {@link TransactionPropagatingExecutorService} of the transaction of the executed test, through
+ * {@link ArquillianResource} injection of an {@link Executor} or {@link java.util.concurrent.ExecutorService}.
+ * <br />
+ * Nothing is provided if the test is not executed in a JTA transaction.
+ *
+ * @see JtaTransactionProvider#getExecutorService()
+ */
+public class TransactionPropagatingExecutorResourceProvider implements ResourceProvider {
+
+    @Inject
+    private Instance<TransactionProvider> transactionProviderInstance;
+
+    @Inject
+    private Instance<UserTransaction> userTransactionInstance;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canProvide(Class<?> type) {
+        return Executor.class.isAssignableFrom(type)
+            && type.isAssignableFrom(TransactionPropagatingExecutorService.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object lookup(ArquillianResource resource, Annotation... qualifiers) {
+        final TransactionProvider transactionProvider = transactionProviderInstance.get();
+        if (!(transactionProvider instanceof JtaTransactionProvider) || userTransactionInstance.get() == null) {
+            return null;
+        }
+        return ((JtaTransactionProvider) transactionProvider).getExecutorService();
+    }
+}
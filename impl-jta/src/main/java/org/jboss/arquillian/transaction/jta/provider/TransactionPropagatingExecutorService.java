@@ -0,0 +1,173 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jta.provider;
+
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes the tasks of the test in the test transaction, so the work spread across the worker threads is
+ * committed or rolled back together with the test.
+ * <br />
+ * Every task resumes the transaction in the worker thread and suspends it once it is done. The transaction is
+ * then associated with several threads at once, which the JTA specification leaves to the transaction manager.
+ * The executor is created per transaction and shut down by {@link JtaTransactionProvider} before the transaction
+ * is completed, see {@link JtaTransactionProvider#getExecutorService()}.
+ */
+public class TransactionPropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService executor;
+
+    private final TransactionManager transactionManager;
+
+    private final Transaction transaction;
+
+    TransactionPropagatingExecutorService(TransactionManager transactionManager, Transaction transaction,
+        int threads) {
+        this.transactionManager = transactionManager;
+        this.transaction = transaction;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(), new WorkerThreadFactory());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(final Runnable command) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                resume();
+                try {
+                    command.run();
+                } finally {
+                    suspend();
+                }
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        return executor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Shuts the executor down and waits for the submitted tasks, which have to complete before the transaction.
+     *
+     * @param timeout
+     *     the timeout in seconds, 0 waits until all the tasks are done
+     *
+     * @throws RuntimeException
+     *     if the tasks have not been completed in time
+     */
+    void terminate(int timeout) {
+        executor.shutdown();
+        try {
+            if (timeout > 0) {
+                if (!executor.awaitTermination(timeout, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                    throw new RuntimeException("The tasks executed in the transaction have not completed within "
+                        + timeout + " seconds.");
+                }
+            } else {
+                while (!executor.awaitTermination(1L, TimeUnit.SECONDS)) {
+                    // waits for the remaining tasks
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new RuntimeException("Interrupted while waiting for the tasks executed in the transaction.", e);
+        }
+    }
+
+    private void resume() {
+        try {
+            transactionManager.resume(transaction);
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to propagate the transaction to the worker thread.", e);
+        }
+    }
+
+    private void suspend() {
+        try {
+            transactionManager.suspend();
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to disassociate the transaction from the worker thread.", e);
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "arquillian-transaction-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jta.provider;
+
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.UserTransaction;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the {@link UserTransaction} handles looked up from JNDI, keyed by the JNDI name, and the
+ * {@link TransactionManager} found under one of the names the containers bind it under.
+ * <br />
+ * The cache is held by the class loader of this extension rather than by Arquillian context, since
+ * in-container test runs bootstrap Arquillian for every executed test. On the client side it is invalidated
+ * on deployment changes, while in the container it is invalidated once the run of each test ends.
+ *
+ * @see org.jboss.arquillian.transaction.jta.client.UserTransactionCacheInvalidator
+ * @see org.jboss.arquillian.transaction.jta.container.InContainerUserTransactionCacheInvalidator
+ */
+public final class UserTransactionCache {
+
+    private static final UserTransactionCache INSTANCE = new UserTransactionCache();
+
+    private final ConcurrentMap<String, UserTransaction> userTransactions =
+        new ConcurrentHashMap<String, UserTransaction>();
+
+    private volatile TransactionManager transactionManager;
+
+    private volatile boolean transactionManagerResolved;
+
+    private UserTransactionCache() {
+        // use getInstance()
+    }
+
+    public static UserTransactionCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Retrieves the cached transaction.
+     *
+     * @param jndiName
+     *     the JNDI name the transaction has been looked up with
+     *
+     * @return the cached transaction or null if there is none
+     */
+    public UserTransaction get(String jndiName) {
+        return userTransactions.get(jndiName);
+    }
+
+    /**
+     * Caches the transaction looked up with the given JNDI name.
+     *
+     * @param jndiName
+     *     the JNDI name
+     * @param userTransaction
+     *     the transaction
+     */
+    public void put(String jndiName, UserTransaction userTransaction) {
+        userTransactions.put(jndiName, userTransaction);
+    }
+
+    /**
+     * Returns whether the transaction manager has been looked up, including the lookups which have not found it.
+     *
+     * @return true if {@link #getTransactionManager()} holds the result of the lookup, false otherwise
+     */
+    public boolean isTransactionManagerResolved() {
+        return transactionManagerResolved;
+    }
+
+    /**
+     * Retrieves the cached transaction manager.
+     *
+     * @return the cached transaction manager or null if it has not been found or looked up yet
+     */
+    public TransactionManager getTransactionManager() {
+        return transactionManager;
+    }
+
+    /**
+     * Caches the result of the transaction manager lookup.
+     *
+     * @param transactionManager
+     *     the transaction manager or null if none has been found
+     */
+    public void putTransactionManager(TransactionManager transactionManager) {
+        this.transactionManager = transactionManager;
+        this.transactionManagerResolved = true;
+    }
+
+    /**
+     * Removes all cached transactions and the transaction manager.
+     */
+    public void invalidate() {
+        userTransactions.clear();
+        transactionManagerResolved = false;
+        transactionManager = null;
+    }
+}
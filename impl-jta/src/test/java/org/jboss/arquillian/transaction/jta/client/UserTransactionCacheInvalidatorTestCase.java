@@ -0,0 +1,90 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jta.client;
+
+import jakarta.transaction.UserTransaction;
+import org.jboss.arquillian.container.spi.client.container.DeployableContainer;
+import org.jboss.arquillian.container.spi.client.deployment.DeploymentDescription;
+import org.jboss.arquillian.container.spi.event.container.AfterDeploy;
+import org.jboss.arquillian.container.spi.event.container.AfterUnDeploy;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.jta.provider.UserTransactionCache;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link UserTransactionCacheInvalidator} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class UserTransactionCacheInvalidatorTestCase extends AbstractTestTestBase {
+
+    private static final String JNDI_NAME = "java:comp/UserTransaction";
+
+    @Mock
+    private DeployableContainer<?> mockDeployableContainer;
+
+    @Mock
+    private DeploymentDescription mockDeploymentDescription;
+
+    @Mock
+    private UserTransaction mockUserTransaction;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(UserTransactionCacheInvalidator.class);
+    }
+
+    @After
+    public void tearDown() {
+        UserTransactionCache.getInstance().invalidate();
+    }
+
+    @Test
+    public void shouldInvalidateCacheAfterUnDeploy() {
+
+        // given
+        UserTransactionCache.getInstance().put(JNDI_NAME, mockUserTransaction);
+
+        // when
+        getManager().fire(new AfterUnDeploy(mockDeployableContainer, mockDeploymentDescription));
+
+        // then
+        assertThat(UserTransactionCache.getInstance().get(JNDI_NAME)).isNull();
+    }
+
+    @Test
+    public void shouldInvalidateCacheAfterDeploy() {
+
+        // given
+        UserTransactionCache.getInstance().put(JNDI_NAME, mockUserTransaction);
+
+        // when
+        getManager().fire(new AfterDeploy(mockDeployableContainer, mockDeploymentDescription));
+
+        // then
+        assertThat(UserTransactionCache.getInstance().get(JNDI_NAME)).isNull();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.arquillian.transaction.jta.container;
+
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.UserTransaction;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.jta.provider.UserTransactionCache;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link InContainerUserTransactionCacheInvalidator} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class InContainerUserTransactionCacheInvalidatorTestCase extends AbstractTestTestBase {
+
+    private static final String JNDI_NAME = "java:comp/UserTransaction";
+
+    @Mock
+    private UserTransaction mockUserTransaction;
+
+    @Mock
+    private TransactionManager mockTransactionManager;
+
+    @Override
+    protected void addExtensions(List<Class<?>> extensions) {
+        extensions.add(InContainerUserTransactionCacheInvalidator.class);
+    }
+
+    @After
+    public void tearDown() {
+        UserTransactionCache.getInstance().invalidate();
+    }
+
+    @Test
+    public void shouldInvalidateCacheAfterSuite() {
+
+        // given
+        UserTransactionCache.getInstance().put(JNDI_NAME, mockUserTransaction);
+        UserTransactionCache.getInstance().putTransactionManager(mockTransactionManager);
+
+        // when
+        getManager().fire(new AfterSuite());
+
+        // then
+        assertThat(UserTransactionCache.getInstance().get(JNDI_NAME)).isNull();
+        assertThat(UserTransactionCache.getInstance().getTransactionManager()).isNull();
+        assertThat(UserTransactionCache.getInstance().isTransactionManagerResolved()).isFalse();
+    }
+}
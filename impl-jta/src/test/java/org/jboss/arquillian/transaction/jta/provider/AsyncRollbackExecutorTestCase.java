@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jta.provider;
+
+import jakarta.transaction.SystemException;
+import jakarta.transaction.Transaction;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link AsyncRollbackExecutor} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncRollbackExecutorTestCase {
+
+    private static final int QUEUE_CAPACITY = 32;
+
+    private static final String TEST_NAME = "org.example.RollbackTest#rollbackTest";
+
+    private final AsyncRollbackExecutor instance = AsyncRollbackExecutor.getInstance();
+
+    @Test
+    public void shouldRollbackInCallerThreadWhenQueueIsFull() throws Exception {
+
+        // given
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final Transaction blockingTransaction = mock(Transaction.class);
+        doAnswer(new BlockingRollback(started, released)).when(blockingTransaction).rollback();
+        final AtomicReference<Thread> rollbackThread = new AtomicReference<Thread>();
+        final Transaction overflowingTransaction = mock(Transaction.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                rollbackThread.set(Thread.currentThread());
+                return null;
+            }
+        }).when(overflowingTransaction).rollback();
+
+        // when
+        try {
+            instance.rollback(blockingTransaction, TEST_NAME);
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < QUEUE_CAPACITY; i++) {
+                instance.rollback(mock(Transaction.class), TEST_NAME);
+            }
+            instance.rollback(overflowingTransaction, TEST_NAME);
+        } finally {
+            released.countDown();
+        }
+        instance.awaitCompletion();
+
+        // then
+        assertThat(rollbackThread.get()).isSameAs(Thread.currentThread());
+        verify(blockingTransaction).rollback();
+    }
+
+    @Test
+    public void shouldReportRollbackFailureOnceAgainstOwningTest() throws Exception {
+
+        // given
+        final Transaction failingTransaction = mock(Transaction.class);
+        doThrow(new SystemException("Rollback failure.")).when(failingTransaction).rollback();
+
+        // when
+        instance.rollback(failingTransaction, TEST_NAME);
+        try {
+            instance.awaitCompletion();
+            fail("Expecting the rollback failure to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains(TEST_NAME);
+            assertThat(e.getCause()).isInstanceOf(SystemException.class);
+        }
+        instance.awaitCompletion();
+    }
+
+    @Test
+    public void shouldStopRollbackThreadOnShutdown() throws Exception {
+
+        // given
+        final AtomicReference<Thread> rollbackThread = new AtomicReference<Thread>();
+        final Transaction transaction = mock(Transaction.class);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) {
+                rollbackThread.set(Thread.currentThread());
+                return null;
+            }
+        }).when(transaction).rollback();
+        instance.rollback(transaction, TEST_NAME);
+
+        // when
+        instance.shutdown();
+
+        // then
+        rollbackThread.get().join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(rollbackThread.get().isAlive()).isFalse();
+        instance.rollback(transaction, TEST_NAME);
+        instance.shutdown();
+        verify(transaction, times(2)).rollback();
+    }
+
+    // -- Test doubles
+
+    static final class BlockingRollback implements Answer<Void> {
+
+        private final CountDownLatch started;
+
+        private final CountDownLatch released;
+
+        BlockingRollback(CountDownLatch started, CountDownLatch released) {
+            this.started = started;
+            this.released = released;
+        }
+
+        @Override
+        public Void answer(InvocationOnMock invocation) throws InterruptedException {
+            started.countDown();
+            released.await();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jta.provider;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+import jakarta.transaction.UserTransaction;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.context.Context;
+import org.jboss.arquillian.test.test.AbstractTestTestBase;
+import org.jboss.arquillian.transaction.impl.configuration.TransactionConfiguration;
+import org.jboss.arquillian.transaction.impl.context.TransactionContextImpl;
+import org.jboss.arquillian.transaction.impl.test.DefaultTransactionalTest;
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import javax.naming.NameNotFoundException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link JtaTransactionProvider} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JtaTransactionProviderTestCase extends AbstractTestTestBase {
+
+    @Mock
+    private javax.naming.Context mockJndiContext;
+
+    @Mock
+    private UserTransaction mockUserTransaction;
+
+    @Mock
+    private TransactionManager mockTransactionManager;
+
+    @Mock
+    private Transaction mockTransaction;
+
+    private final TransactionConfiguration transactionConfiguration = new TransactionConfiguration();
+
+    private JtaTransactionProvider instance;
+
+    @Override
+    protected void addContexts(List<Class<? extends Context>> contexts) {
+        super.addContexts(contexts);
+        contexts.add(TransactionContextImpl.class);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        transactionConfiguration.setLookupCacheEnabled(false);
+        bind(ApplicationScoped.class, javax.naming.Context.class, mockJndiContext);
+        bind(ApplicationScoped.class, TransactionConfiguration.class, transactionConfiguration);
+        getManager().getContext(TransactionContextImpl.class).activate();
+
+        instance = new JtaTransactionProvider();
+        getManager().inject(instance);
+
+        when(mockJndiContext.lookup("java:comp/UserTransaction")).thenReturn(mockUserTransaction);
+    }
+
+    @After
+    public void tearDown() {
+        getManager().getContext(TransactionContextImpl.class).destroy();
+        UserTransactionCache.getInstance().invalidate();
+    }
+
+    @Test
+    public void shouldLookupUserTransactionOnceWhenCacheIsEnabled() throws Exception {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(null);
+        transactionConfiguration.setLookupCacheEnabled(true);
+        when(mockUserTransaction.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+        instance.beginTransaction(transactionalTest);
+
+        // then
+        verify(mockJndiContext).lookup("java:comp/UserTransaction");
+        assertThat(UserTransactionCache.getInstance().get("java:comp/UserTransaction")).isSameAs(mockUserTransaction);
+    }
+
+    @Test
+    public void shouldBypassUserTransactionCacheWhenDisabled() throws Exception {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(null);
+        when(mockUserTransaction.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+        instance.beginTransaction(transactionalTest);
+
+        // then
+        verify(mockJndiContext, times(2)).lookup("java:comp/UserTransaction");
+        assertThat(UserTransactionCache.getInstance().get("java:comp/UserTransaction")).isNull();
+    }
+
+    @Test
+    public void shouldLookupTransactionManagerOnceWhenCacheIsEnabled() throws Exception {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(null, 30);
+        transactionConfiguration.setLookupCacheEnabled(true);
+        when(mockUserTransaction.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        when(mockJndiContext.lookup("java:/TransactionManager")).thenReturn(mockTransactionManager);
+        when(mockTransactionManager.getTransaction()).thenReturn(mockTransaction);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+        instance.beginTransaction(transactionalTest);
+
+        // then
+        verify(mockJndiContext).lookup("java:/TransactionManager");
+        verify(mockTransactionManager, times(2)).getTransaction();
+        assertThat(UserTransactionCache.getInstance().getTransactionManager()).isSameAs(mockTransactionManager);
+    }
+
+    @Test
+    public void shouldCacheMissingTransactionManager() throws Exception {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(null, 30);
+        transactionConfiguration.setLookupCacheEnabled(true);
+        when(mockUserTransaction.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        when(mockJndiContext.lookup("java:/TransactionManager")).thenThrow(new NameNotFoundException());
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.commitTransaction(transactionalTest);
+        instance.beginTransaction(transactionalTest);
+
+        // then
+        verify(mockJndiContext).lookup("java:/TransactionManager");
+        assertThat(UserTransactionCache.getInstance().isTransactionManagerResolved()).isTrue();
+        assertThat(UserTransactionCache.getInstance().getTransactionManager()).isNull();
+    }
+
+    @Test
+    public void shouldRollbackTransactionWhenExecutorTasksExceedTimeout() throws Exception {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(null, 1);
+        when(mockUserTransaction.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        when(mockJndiContext.lookup("java:/TransactionManager")).thenReturn(mockTransactionManager);
+        when(mockTransactionManager.getTransaction()).thenReturn(mockTransaction);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.getExecutorService().submit(new TransactionPropagatingExecutorServiceTestCase.BlockingTask(latch));
+        try {
+            instance.rollbackTransaction(transactionalTest);
+            fail("Expecting the timeout of the tasks to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("have not completed");
+        } finally {
+            latch.countDown();
+        }
+        verify(mockUserTransaction).begin();
+        verify(mockUserTransaction).rollback();
+    }
+
+    @Test
+    public void shouldReportFailedAsyncRollbackAgainstOwningTest() throws Exception {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(null, 0, false, "org.example.Test#first");
+        transactionConfiguration.setAsyncRollbackEnabled(true);
+        when(mockUserTransaction.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION, Status.STATUS_ACTIVE,
+            Status.STATUS_NO_TRANSACTION);
+        when(mockJndiContext.lookup("java:/TransactionManager")).thenReturn(mockTransactionManager);
+        when(mockTransactionManager.suspend()).thenReturn(mockTransaction);
+        doThrow(new SystemException("Rollback failure.")).when(mockTransaction).rollback();
+        instance.beginTransaction(transactionalTest);
+        instance.rollbackTransaction(transactionalTest);
+
+        // when
+        instance.beginTransaction(new DefaultTransactionalTest(null, 0, false, "org.example.Test#second"));
+        try {
+            AsyncRollbackExecutor.getInstance().shutdown();
+            fail("Expecting the failed rollback to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("org.example.Test#first");
+            assertThat(e.getCause()).isInstanceOf(SystemException.class);
+        }
+        verify(mockUserTransaction, times(2)).begin();
+        verify(mockUserTransaction, never()).rollback();
+    }
+
+    @Test
+    public void shouldMarkKeptTransactionRollbackOnly() throws Exception {
+
+        // given
+        TransactionalTest transactionalTest = new DefaultTransactionalTest(null, 30);
+        when(mockUserTransaction.getStatus()).thenReturn(Status.STATUS_NO_TRANSACTION);
+        when(mockJndiContext.lookup("java:/TransactionManager")).thenReturn(mockTransactionManager);
+        when(mockTransactionManager.getTransaction()).thenReturn(mockTransaction);
+
+        // when
+        instance.beginTransaction(transactionalTest);
+        instance.setRollbackOnly(transactionalTest);
+
+        // then
+        verify(mockUserTransaction).setTransactionTimeout(30);
+        verify(mockTransaction).setRollbackOnly();
+    }
+}
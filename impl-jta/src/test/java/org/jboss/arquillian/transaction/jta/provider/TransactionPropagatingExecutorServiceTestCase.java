@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012, Red Hat Middleware LLC, and individual contributors
+ * by the @authors tag. See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.jboss.arquillian.transaction.jta.provider;
+
+import jakarta.transaction.Transaction;
+import jakarta.transaction.TransactionManager;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link TransactionPropagatingExecutorService} class.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TransactionPropagatingExecutorServiceTestCase {
+
+    @Mock
+    private TransactionManager mockTransactionManager;
+
+    @Mock
+    private Transaction mockTransaction;
+
+    @Test
+    public void shouldResumeAndSuspendTransactionAroundEveryTask() throws Exception {
+
+        // given
+        TransactionPropagatingExecutorService executorService =
+            new TransactionPropagatingExecutorService(mockTransactionManager, mockTransaction, 2);
+
+        // when
+        Future<String> first = executorService.submit(new ResultTask("first"));
+        Future<String> second = executorService.submit(new ResultTask("second"));
+        Future<String> third = executorService.submit(new ResultTask("third"));
+        executorService.terminate(0);
+
+        // then
+        assertThat(first.get()).isEqualTo("first");
+        assertThat(second.get()).isEqualTo("second");
+        assertThat(third.get()).isEqualTo("third");
+        assertThat(executorService.isTerminated()).isTrue();
+        verify(mockTransactionManager, times(3)).resume(mockTransaction);
+        verify(mockTransactionManager, times(3)).suspend();
+    }
+
+    @Test
+    public void shouldSuspendTransactionWhenTaskFails() throws Exception {
+
+        // given
+        TransactionPropagatingExecutorService executorService =
+            new TransactionPropagatingExecutorService(mockTransactionManager, mockTransaction, 1);
+
+        // when
+        Future<?> future = executorService.submit(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("Failing task.");
+            }
+        });
+        executorService.terminate(0);
+
+        // then
+        try {
+            future.get();
+            fail("Expecting the failure of the task.");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+        }
+        InOrder inOrder = inOrder(mockTransactionManager);
+        inOrder.verify(mockTransactionManager).resume(mockTransaction);
+        inOrder.verify(mockTransactionManager).suspend();
+    }
+
+    @Test
+    public void shouldFailTerminationWhenTasksExceedTimeout() throws Exception {
+
+        // given
+        TransactionPropagatingExecutorService executorService =
+            new TransactionPropagatingExecutorService(mockTransactionManager, mockTransaction, 1);
+        CountDownLatch latch = new CountDownLatch(1);
+        executorService.submit(new BlockingTask(latch));
+
+        // when
+        try {
+            executorService.terminate(1);
+            fail("Expecting the timeout to be reported.");
+        } catch (RuntimeException e) {
+
+            // then
+            assertThat(e.getMessage()).contains("1 seconds");
+        } finally {
+            latch.countDown();
+        }
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    // -- Test doubles
+
+    private static final class ResultTask implements Callable<String> {
+
+        private final String result;
+
+        private ResultTask(String result) {
+            this.result = result;
+        }
+
+        @Override
+        public String call() {
+            return result;
+        }
+    }
+
+    static final class BlockingTask implements Callable<Void> {
+
+        private final CountDownLatch latch;
+
+        BlockingTask(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public Void call() throws Exception {
+            latch.await();
+            return null;
+        }
+    }
+}
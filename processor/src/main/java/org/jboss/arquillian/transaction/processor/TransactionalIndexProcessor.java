@@ -0,0 +1,237 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Writes the index of the {@code @Transactional} settings of the compiled test classes, so the extension does
+ * not need to resolve them through reflection at runtime.
+ * <br />
+ * The index is a text file with a tab separated entry per line. A class entry holds the settings applying to the
+ * whole class, resolved the way {@link Class#getAnnotation(Class)} does, so the settings inherited from the
+ * superclasses are included. A method entry holds the settings declared on the method itself, since the
+ * annotations of the overridden methods are not inherited. A method of an indexed class without an entry is not
+ * transactional.
+ * <pre>
+ * class   &lt;binary class name&gt;   &lt;mode&gt;   &lt;manager&gt;   &lt;scope&gt;   &lt;timeout&gt;
+ * method  &lt;binary class name&gt;   &lt;name&gt;(&lt;parameter types&gt;)   &lt;mode&gt;   &lt;manager&gt;   &lt;scope&gt;   &lt;timeout&gt;
+ * </pre>
+ * The class entry of a class which is not annotated holds {@code -} instead of the settings.
+ */
+@SupportedAnnotationTypes(TransactionalIndexProcessor.TRANSACTIONAL)
+public class TransactionalIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The location of the index in the class path.
+     */
+    public static final String INDEX_LOCATION = "META-INF/arquillian-transaction/transactional.index";
+
+    static final String TRANSACTIONAL = "org.jboss.arquillian.transaction.api.annotation.Transactional";
+
+    private static final String SEPARATOR = "\t";
+
+    private static final String NOT_ANNOTATED = "-";
+
+    private final Map<String, String> entries = new TreeMap<String, String>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element instanceof TypeElement) {
+                    addClass((TypeElement) element);
+                } else if (element instanceof ExecutableElement) {
+                    addMethod((ExecutableElement) element);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addClass(TypeElement type) {
+        final String className = getBinaryName(type);
+        final AnnotationMirror transactional = findClassTransactional(type);
+        entries.put(className, join("class", className,
+            transactional != null ? getSettings(transactional) : NOT_ANNOTATED));
+    }
+
+    private void addMethod(ExecutableElement method) {
+        final TypeElement type = (TypeElement) method.getEnclosingElement();
+        final String className = getBinaryName(type);
+        if (!entries.containsKey(className)) {
+            addClass(type);
+        }
+
+        final String signature = getSignature(method);
+        entries.put(className + "#" + signature,
+            join("method", className, signature, getSettings(findTransactional(method))));
+    }
+
+    /**
+     * Finds the annotation declared on the class or inherited from its superclasses.
+     */
+    private AnnotationMirror findClassTransactional(TypeElement type) {
+        TypeElement current = type;
+        while (current != null) {
+            final AnnotationMirror transactional = findTransactional(current);
+            if (transactional != null) {
+                return transactional;
+            }
+            final TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return null;
+    }
+
+    private AnnotationMirror findTransactional(Element element) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            final TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            if (TRANSACTIONAL.contentEquals(annotationType.getQualifiedName())) {
+                return annotationMirror;
+            }
+        }
+        return null;
+    }
+
+    private String getSettings(AnnotationMirror transactional) {
+        String mode = null;
+        String manager = null;
+        String scope = null;
+        String timeout = null;
+
+        final Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+            processingEnv.getElementUtils().getElementValuesWithDefaults(transactional);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : values.entrySet()) {
+            final String name = value.getKey().getSimpleName().toString();
+            final Object content = value.getValue().getValue();
+            if ("value".equals(name)) {
+                mode = ((VariableElement) content).getSimpleName().toString();
+            } else if ("manager".equals(name)) {
+                manager = content.toString();
+            } else if ("scope".equals(name)) {
+                scope = ((VariableElement) content).getSimpleName().toString();
+            } else if ("timeout".equals(name)) {
+                timeout = content.toString();
+            }
+        }
+        return join(mode, manager, scope, timeout);
+    }
+
+    private String getSignature(ExecutableElement method) {
+        final StringBuilder signature = new StringBuilder(method.getSimpleName()).append('(');
+        for (int i = 0; i < method.getParameters().size(); i++) {
+            if (i > 0) {
+                signature.append(',');
+            }
+            signature.append(getTypeName(method.getParameters().get(i).asType()));
+        }
+        return signature.append(')').toString();
+    }
+
+    /**
+     * Retrieves the name of the erased type, in the format of {@link Class#getTypeName()}.
+     */
+    private String getTypeName(TypeMirror type) {
+        final TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        if (erasure.getKind() == TypeKind.ARRAY) {
+            return getTypeName(((ArrayType) erasure).getComponentType()) + "[]";
+        }
+        if (erasure.getKind() == TypeKind.DECLARED) {
+            return getBinaryName((TypeElement) ((DeclaredType) erasure).asElement());
+        }
+        return erasure.toString();
+    }
+
+    private String getBinaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeIndex() {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            final FileObject index =
+                processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            final Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try {
+                for (String entry : entries.values()) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Unable to write the transactional index: " + e.getMessage());
+        }
+    }
+
+    private static String join(String... values) {
+        final StringBuilder line = new StringBuilder();
+        for (String value : values) {
+            if (line.length() > 0) {
+                line.append(SEPARATOR);
+            }
+            line.append(value);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.processor;
+
+import org.jboss.arquillian.transaction.api.annotation.Transactional;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests {@link TransactionalIndexProcessor} class, by compiling the test classes with the processor.
+ */
+public class TransactionalIndexProcessorTestCase {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldIndexAnnotatedClassesAndMethods() throws Exception {
+
+        // given
+        final JavaFileObject annotatedClass = source("fixture.AnnotatedTest",
+            "package fixture;",
+            "import org.jboss.arquillian.transaction.api.annotation.*;",
+            "@Transactional(value = TransactionMode.ROLLBACK, manager = \"java:/TestManager\")",
+            "public class AnnotatedTest {",
+            "    public void inheritedTest() {}",
+            "    @Transactional(value = TransactionMode.COMMIT, timeout = 30)",
+            "    public void commitTest(String[] names, int count, java.util.List<String> values) {}",
+            "    public static class NestedTest {",
+            "        @Transactional(scope = TransactionBoundary.CLASS)",
+            "        public void classTest() {}",
+            "    }",
+            "}");
+        final JavaFileObject inheritingClass = source("fixture.InheritingTest",
+            "package fixture;",
+            "import org.jboss.arquillian.transaction.api.annotation.*;",
+            "public class InheritingTest extends AnnotatedTest {",
+            "    @Transactional(TransactionMode.DISABLED)",
+            "    public void disabledTest() {}",
+            "}");
+        final JavaFileObject plainClass = source("fixture.PlainTest",
+            "package fixture;",
+            "public class PlainTest {",
+            "    public void test() {}",
+            "}");
+
+        // when
+        final List<String> index = compile(annotatedClass, inheritingClass, plainClass);
+
+        // then
+        assertThat(index).containsOnly(
+            "class\tfixture.AnnotatedTest\tROLLBACK\tjava:/TestManager\tTEST\t0",
+            "method\tfixture.AnnotatedTest\tcommitTest(java.lang.String[],int,java.util.List)\tCOMMIT\t\tTEST\t30",
+            "class\tfixture.AnnotatedTest$NestedTest\t-",
+            "method\tfixture.AnnotatedTest$NestedTest\tclassTest()\tDEFAULT\t\tCLASS\t0",
+            "class\tfixture.InheritingTest\tROLLBACK\tjava:/TestManager\tTEST\t0",
+            "method\tfixture.InheritingTest\tdisabledTest()\tDISABLED\t\tTEST\t0");
+    }
+
+    @Test
+    public void shouldNotWriteIndexWithoutAnnotatedClasses() throws Exception {
+
+        // given
+        final JavaFileObject plainClass = source("fixture.PlainTest",
+            "package fixture;",
+            "public class PlainTest {",
+            "    public void test() {}",
+            "}");
+
+        // when
+        compile(plainClass);
+
+        // then
+        assertThat(new File(temporaryFolder.getRoot(), TransactionalIndexProcessor.INDEX_LOCATION).exists()).isFalse();
+    }
+
+    // -- Private methods
+
+    private List<String> compile(JavaFileObject... sources) throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT,
+                Collections.singletonList(temporaryFolder.getRoot()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, Collections.singletonList(
+                new File(Transactional.class.getProtectionDomain().getCodeSource().getLocation().toURI())));
+
+            final JavaCompiler.CompilationTask task =
+                compiler.getTask(null, fileManager, diagnostics, null, null, Arrays.asList(sources));
+            task.setProcessors(Collections.singletonList(new TransactionalIndexProcessor()));
+            final boolean compiled = task.call();
+            assertThat(compiled).as(describe(diagnostics)).isTrue();
+        } finally {
+            fileManager.close();
+        }
+
+        final File index = new File(temporaryFolder.getRoot(), TransactionalIndexProcessor.INDEX_LOCATION);
+        return index.exists() ? Files.readAllLines(index.toPath(), Charset.forName("UTF-8"))
+            : Collections.<String>emptyList();
+    }
+
+    private static String describe(DiagnosticCollector<JavaFileObject> diagnostics) {
+        final StringBuilder description = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            description.append(diagnostic).append('\n');
+        }
+        return description.toString();
+    }
+
+    private static JavaFileObject source(String className, String... lines) {
+        final StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append('\n');
+        }
+        return new SourceFile(className, content.toString());
+    }
+
+    // -- Test doubles
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String content;
+
+        private SourceFile(String className, String content) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
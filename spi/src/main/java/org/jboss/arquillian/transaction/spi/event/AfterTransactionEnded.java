@@ -17,6 +17,10 @@
  */
 package org.jboss.arquillian.transaction.spi.event;
 
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+
+import java.lang.reflect.Method;
+
 /**
  * Event fired after the transaction has been finished.
  *
@@ -24,4 +28,28 @@ package org.jboss.arquillian.transaction.spi.event;
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
 public class AfterTransactionEnded extends TransactionEvent {
+
+    /**
+     * Represents the transaction outcome.
+     */
+    private final TransactionOutcome outcome;
+
+    public AfterTransactionEnded() {
+        this.outcome = null;
+    }
+
+    public AfterTransactionEnded(Class<?> testClass, Method testMethod, TransactionMode transactionMode,
+        String manager, TransactionOutcome outcome) {
+        super(testClass, testMethod, transactionMode, manager);
+        this.outcome = outcome;
+    }
+
+    /**
+     * Retrieves the transaction outcome.
+     *
+     * @return the outcome or null if it hasn't been provided
+     */
+    public TransactionOutcome getOutcome() {
+        return outcome;
+    }
 }
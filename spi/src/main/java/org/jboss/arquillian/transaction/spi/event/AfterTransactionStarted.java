@@ -1,5 +1,9 @@
 package org.jboss.arquillian.transaction.spi.event;
 
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+
+import java.lang.reflect.Method;
+
 /**
  * Event fired after new transaction is started.
  *
@@ -7,4 +11,12 @@ package org.jboss.arquillian.transaction.spi.event;
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
 public class AfterTransactionStarted extends TransactionEvent {
-}
\ No newline at end of file
+
+    public AfterTransactionStarted() {
+    }
+
+    public AfterTransactionStarted(Class<?> testClass, Method testMethod, TransactionMode transactionMode,
+        String manager) {
+        super(testClass, testMethod, transactionMode, manager);
+    }
+}
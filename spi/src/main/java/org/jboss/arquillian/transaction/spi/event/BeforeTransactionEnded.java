@@ -1,5 +1,9 @@
 package org.jboss.arquillian.transaction.spi.event;
 
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+
+import java.lang.reflect.Method;
+
 /**
  * Event fired before the transaction will be compensated.
  *
@@ -7,4 +11,12 @@ package org.jboss.arquillian.transaction.spi.event;
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
 public class BeforeTransactionEnded extends TransactionEvent {
+
+    public BeforeTransactionEnded() {
+    }
+
+    public BeforeTransactionEnded(Class<?> testClass, Method testMethod, TransactionMode transactionMode,
+        String manager) {
+        super(testClass, testMethod, transactionMode, manager);
+    }
 }
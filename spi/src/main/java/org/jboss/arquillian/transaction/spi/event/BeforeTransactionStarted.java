@@ -17,6 +17,10 @@
  */
 package org.jboss.arquillian.transaction.spi.event;
 
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+
+import java.lang.reflect.Method;
+
 /**
  * Event fired before new transaction is going to start.
  *
@@ -24,4 +28,12 @@ package org.jboss.arquillian.transaction.spi.event;
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
 public class BeforeTransactionStarted extends TransactionEvent {
+
+    public BeforeTransactionStarted() {
+    }
+
+    public BeforeTransactionStarted(Class<?> testClass, Method testMethod, TransactionMode transactionMode,
+        String manager) {
+        super(testClass, testMethod, transactionMode, manager);
+    }
 }
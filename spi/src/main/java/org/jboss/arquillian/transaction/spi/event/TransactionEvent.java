@@ -18,11 +18,88 @@
 package org.jboss.arquillian.transaction.spi.event;
 
 import org.jboss.arquillian.core.spi.event.Event;
+import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
+
+import java.lang.reflect.Method;
 
 /**
  * Base event for all transaction related events.
+ * <br />
+ * Every event records the {@link System#nanoTime()} of its creation, so the duration of the transaction
+ * operations can be computed from the timestamps of the related events.
  *
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
 public class TransactionEvent implements Event {
+
+    /**
+     * Represents the creation time of the event, in nanoseconds.
+     */
+    private final long timestamp = System.nanoTime();
+
+    /**
+     * Represents the test class.
+     */
+    private final Class<?> testClass;
+
+    /**
+     * Represents the test method, null if the transaction spans the whole test class.
+     */
+    private final Method testMethod;
+
+    /**
+     * Represents the resolved transaction mode.
+     */
+    private final TransactionMode transactionMode;
+
+    /**
+     * Represents the name of the transaction manager.
+     */
+    private final String manager;
+
+    /**
+     * Creates new instance of {@link TransactionEvent} without any information about the test.
+     */
+    public TransactionEvent() {
+        this(null, null, null, null);
+    }
+
+    /**
+     * Creates new instance of {@link TransactionEvent}.
+     *
+     * @param testClass
+     *     the test class
+     * @param testMethod
+     *     the test method or null if the transaction spans the whole test class
+     * @param transactionMode
+     *     the resolved transaction mode
+     * @param manager
+     *     the transaction manager name or null if one hasn't been set
+     */
+    public TransactionEvent(Class<?> testClass, Method testMethod, TransactionMode transactionMode, String manager) {
+        this.testClass = testClass;
+        this.testMethod = testMethod;
+        this.transactionMode = transactionMode;
+        this.manager = manager;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Class<?> getTestClass() {
+        return testClass;
+    }
+
+    public Method getTestMethod() {
+        return testMethod;
+    }
+
+    public TransactionMode getTransactionMode() {
+        return transactionMode;
+    }
+
+    public String getManager() {
+        return manager;
+    }
 }
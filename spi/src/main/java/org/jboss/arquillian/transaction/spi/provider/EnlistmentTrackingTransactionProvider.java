@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.spi.provider;
+
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+/**
+ * {@link TransactionProvider} able to tell whether any resource has taken part in the current transaction.
+ * <br />
+ * A transaction which should be committed, but has no enlisted resources, is rolled back instead, since it has
+ * done no work and the rollback never writes to the transaction log. Its outcome is reported as
+ * {@link org.jboss.arquillian.transaction.spi.event.TransactionOutcome#ELIDED}.
+ *
+ * @see TransactionProvider
+ */
+public interface EnlistmentTrackingTransactionProvider extends TransactionProvider {
+
+    /**
+     * Returns whether any resource has been enlisted in the current transaction.
+     *
+     * @param test
+     *     the transactional test
+     *
+     * @return true if any resource might have done work in the transaction, false otherwise
+     */
+    boolean hasEnlistedResources(TransactionalTest test);
+}
@@ -0,0 +1,33 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.spi.provider;
+
+/**
+ * {@link TransactionProvider} whose transactional resources are handed out only by the extension, for instance
+ * through the test enrichment, so the begin of the test transaction can be deferred until they are first used.
+ * <br />
+ * If lazy begin is enabled, a {@link PendingTransaction} is stored in the
+ * {@link org.jboss.arquillian.transaction.spi.annotation.TransactionScope} instead of beginning the transaction.
+ * The provider has to call {@link PendingTransaction#begin()} before the resource is used. As the resources are looked
+ * up by the test enrichment ahead of the test, the provider should hand out a {@link TransactionalResourceProxy}
+ * calling it on the first use. If it has never been called, the transaction is neither committed nor rolled back.
+ *
+ * @see PendingTransaction
+ */
+public interface LazyTransactionProvider extends TransactionProvider {
+}
@@ -0,0 +1,35 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.spi.provider;
+
+/**
+ * {@link TransactionEnabler} which declares its position in the chain of enablers.
+ * <br />
+ * Enablers with higher precedence are consulted first. Enablers which do not implement
+ * this interface have the precedence of {@code 0}. The default, annotation based enabler
+ * always precedes all custom implementations.
+ *
+ * @see TransactionEnabler
+ */
+public interface OrderedTransactionEnabler extends TransactionEnabler {
+
+    /**
+     * Returns the precedence of this enabler.
+     */
+    int getPrecedence();
+}
@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.spi.provider;
+
+import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
+
+/**
+ * {@link TransactionProvider} capable of marking savepoints in the current transaction, used for
+ * executing tests in {@link org.jboss.arquillian.transaction.api.annotation.TransactionMode#SAVEPOINT} mode.
+ * <br />
+ * The outer transaction is created through {@link #beginTransaction(TransactionalTest)} once per test class,
+ * then every test sets a savepoint, which is being rolled back to after the test execution.
+ *
+ * @see TransactionProvider
+ */
+public interface SavepointTransactionProvider extends TransactionProvider {
+
+    /**
+     * Marks a savepoint in the current transaction.
+     *
+     * @param test
+     *     the transactional test
+     */
+    void setSavepoint(TransactionalTest test);
+
+    /**
+     * Rollbacks the current transaction to the most recently set savepoint and releases it.
+     *
+     * @param test
+     *     the transactional test
+     */
+    void rollbackToSavepoint(TransactionalTest test);
+}
@@ -25,8 +25,9 @@ import org.jboss.arquillian.transaction.api.annotation.TransactionMode;
  * if transaction should be enabled for given the test.
  * <br />
  * This mechanism is intended to handle multiple implementations.
- * It's realized through the chain call, however order is not guaranteed.
- * It will always use the default one.
+ * It's realized through the chain call, where the default one is always consulted first
+ * and custom implementations follow in order of their {@link OrderedTransactionEnabler#getPrecedence() precedence}.
+ * The chain stops as soon as the transaction mode has been determined on the method level.
  * See {@code org.jboss.arquillian.transaction.impl.lifecycle.AnnotationBasedTransactionEnabler}
  * in {@code arquillian-extension-transaction/impl-base} as the precedent.
  * <br />
@@ -22,6 +22,10 @@ import org.jboss.arquillian.transaction.spi.test.TransactionalTest;
 /**
  * Transaction provider. The concrete implementation of this interface will be responsible for
  * creating and compensating transactions for executing test method.
+ * <br />
+ * A single instance is resolved for the whole test suite and it is shared by all its tests, including the ones
+ * executed in parallel. The implementations have to be thread safe, so they keep the state of the transaction in
+ * the transaction context, e.g. through {@code @TransactionScope} injection points, rather than in their fields.
  *
  * @author <a href="mailto:jmnarloch@gmail.com">Jakub Narloch</a>
  */
@@ -50,4 +54,17 @@ public interface TransactionProvider {
      *     the transactional test
      */
     void rollbackTransaction(TransactionalTest test);
+
+    /**
+     * Marks current transaction rollback only, so it can no longer be committed.
+     * <br />
+     * Called once the transaction exceeds its timeout, from the thread of the watchdog while the test might be still
+     * running. The transaction context of the test is active during the call. By default nothing is done and the
+     * transaction is rolled back only once the test ends.
+     *
+     * @param test
+     *     the transactional test
+     */
+    default void setRollbackOnly(TransactionalTest test) {
+    }
 }
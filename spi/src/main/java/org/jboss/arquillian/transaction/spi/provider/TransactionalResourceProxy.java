@@ -0,0 +1,131 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2012 Red Hat Inc. and/or its affiliates and other contributors
+ * as indicated by the @authors tag. All rights reserved.
+ * See the copyright.txt in the distribution for a
+ * full listing of individual contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jboss.arquillian.transaction.spi.provider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Proxy of a transactional resource handed out to the test, which resolves the actual resource on the first
+ * invocation of any of its methods, beginning the {@link PendingTransaction} of a {@link LazyTransactionProvider}
+ * beforehand.
+ * <br />
+ * The test enrichment looks the resources up before the test is executed, so handing out the proxy instead of the
+ * resource itself keeps the begin of the transaction deferred until the test really uses it, and lets the provider
+ * tell whether the resource has been used at all. The methods of {@link Object} are served by the proxy and do not
+ * count as a use of the resource. The proxy only implements the interface of the resource, so the vendor specific
+ * API is reached through {@code unwrap}, which returns the resource itself if it is of the requested type and
+ * delegates to the resource otherwise, as does {@code isWrapperFor}.
+ * <br />
+ * While the begin is pending, the first method has to be invoked from the thread executing the test, because the
+ * resource is resolved from the transaction context bound to it.
+ *
+ * @param <T> the type of the resource
+ * @see PendingTransaction
+ */
+public abstract class TransactionalResourceProxy<T> implements InvocationHandler {
+
+    private static final String UNWRAP = "unwrap";
+
+    private static final String IS_WRAPPER_FOR = "isWrapperFor";
+
+    private final Class<T> resourceType;
+
+    private final PendingTransaction pendingTransaction;
+
+    private T resource;
+
+    /**
+     * Creates new instance of {@link TransactionalResourceProxy}.
+     *
+     * @param resourceType       the interface of the resource
+     * @param pendingTransaction the transaction to begin on the first use, might be null
+     */
+    protected TransactionalResourceProxy(Class<T> resourceType, PendingTransaction pendingTransaction) {
+        this.resourceType = resourceType;
+        this.pendingTransaction = pendingTransaction;
+    }
+
+    /**
+     * Creates the proxy implementing the interface of the resource.
+     *
+     * @return the proxy
+     */
+    public T createProxy() {
+        return resourceType.cast(Proxy.newProxyInstance(resourceType.getClassLoader(),
+            new Class<?>[] {resourceType}, this));
+    }
+
+    /**
+     * Resolves the resource once the transaction has been begun.
+     *
+     * @return the resource or null if it is not available
+     */
+    protected abstract T resolveResource();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+
+        final T target = getResource();
+        if (isWrapperMethod(method) && ((Class<?>) args[0]).isInstance(target)) {
+            return UNWRAP.equals(method.getName()) ? target : Boolean.TRUE;
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isWrapperMethod(Method method) {
+        return (UNWRAP.equals(method.getName()) || IS_WRAPPER_FOR.equals(method.getName()))
+            && method.getParameterTypes().length == 1 && method.getParameterTypes()[0] == Class.class;
+    }
+
+    private synchronized T getResource() {
+        if (resource == null) {
+            if (pendingTransaction != null) {
+                pendingTransaction.begin();
+            }
+
+            resource = resolveResource();
+            if (resource == null) {
+                throw new IllegalStateException("The " + resourceType.getName()
+                    + " of the test transaction is not available.");
+            }
+        }
+        return resource;
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        if ("equals".equals(method.getName())) {
+            return proxy == args[0];
+        } else if ("hashCode".equals(method.getName())) {
+            return System.identityHashCode(proxy);
+        }
+        return resourceType.getName() + "Proxy@" + Integer.toHexString(System.identityHashCode(proxy));
+    }
+}
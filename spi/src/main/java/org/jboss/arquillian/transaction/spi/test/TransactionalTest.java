@@ -25,4 +25,33 @@ package org.jboss.arquillian.transaction.spi.test;
 public interface TransactionalTest {
 
     String getManager();
+
+    /**
+     * Retrieves the transaction timeout.
+     *
+     * @return the timeout in seconds or 0 if the default timeout of the provider should be used
+     */
+    default int getTimeout() {
+        return 0;
+    }
+
+    /**
+     * Returns whether the test only reads data, so the provider might skip flushing and tracking of the changes.
+     * The read only transactions are always rolled back.
+     *
+     * @return true if the transaction is read only, false otherwise
+     */
+    default boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Retrieves the name of the test owning the transaction, so the provider can report the failures detected
+     * once the test has already ended against the right test.
+     *
+     * @return the test class name followed by the test method name, or null if it is unknown
+     */
+    default String getTestName() {
+        return null;
+    }
 }